@@ -10,4 +10,12 @@ public class CallbackContext extends StdCallbackContext {
 
     private boolean deleteStabilizationStarted;
 
+    // The throttled callbacks of the operation so far and the delay they added up to; see ThrottleCallback.
+    private int throttledAttempts;
+    private int throttledDelaySeconds;
+
+    // The Update steps already done, which a callback does not repeat.
+    private boolean resourceUpdated;
+    private boolean tagsUpdated;
+
 }
@@ -6,6 +6,8 @@ class Configuration extends BaseConfiguration {
 
     public Configuration() {
         super("aws-datasync-agent.json");
+        HandlerPrimer.primeOnInit();
+        CheckpointHooks.register();
     }
 
     @Override
@@ -14,8 +14,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class CreateHandler extends BaseHandlerStd {
-    private static final String AWS_TAG_PREFIX = "aws:";
-
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
             final ResourceHandlerRequest<ResourceModel> request,
@@ -37,10 +35,11 @@ public class CreateHandler extends BaseHandlerStd {
 
         // Check for invalid requested system tags.
         for (String key : tagList.keySet()) {
-            if (key.trim().toLowerCase().startsWith(AWS_TAG_PREFIX)) {
+            if (TagDiff.hasAwsPrefix(key)) {
                 throw new CfnInvalidRequestException(key + " is an invalid key. aws: prefixed tag key names cannot be requested.");
             }
         }
+        TagDiff.checkTagCount(tagList);
 
         //  Retrieve default stack-level tags with aws:cloudformation prefix.
         Map<String, String> systemTagList = request.getSystemTags();
@@ -58,9 +57,17 @@ public class CreateHandler extends BaseHandlerStd {
         } catch (InternalException e) {
             throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
         } catch (DataSyncException e) {
+            if (e.isThrottlingException()) {
+                // Nothing was created, so the callback creates the agent then.
+                return ThrottleCallback.inProgress(model, callbackContext,
+                        Translator.translateDataSyncExceptionToCfnException(e), logger);
+            }
             throw Translator.translateDataSyncExceptionToCfnException(e);
         }
 
+        // Reads of the new agent go to DataSync, not to a tombstone left under the same ARN.
+        ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), response.agentArn());
+
         ResourceModel returnModel = ResourceModel.builder()
                 .agentArn(response.agentArn())
                 .agentName(model.getAgentName())
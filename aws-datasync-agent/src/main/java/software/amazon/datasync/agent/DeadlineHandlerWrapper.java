@@ -0,0 +1,41 @@
+package software.amazon.datasync.agent;
+
+import com.amazonaws.services.lambda.runtime.Context;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The Lambda entrypoint of the resource type. The generated {@link HandlerWrapper} is given the Lambda
+ * context but does not pass the time it has left on to the handlers, so this records it for
+ * {@link InvocationDeadline} around each invocation.
+ */
+public class DeadlineHandlerWrapper extends HandlerWrapper {
+
+    @Override
+    public void handleRequest(
+            final InputStream inputStream,
+            final OutputStream outputStream,
+            final Context context) throws IOException {
+        InvocationDeadline.invocationStarted(context.getRemainingTimeInMillis());
+        try {
+            super.handleRequest(inputStream, outputStream, context);
+        } finally {
+            InvocationDeadline.invocationEnded();
+        }
+    }
+
+    @Override
+    public void testEntrypoint(
+            final InputStream inputStream,
+            final OutputStream outputStream,
+            final Context context) throws IOException {
+        InvocationDeadline.invocationStarted(context.getRemainingTimeInMillis());
+        try {
+            super.testEntrypoint(inputStream, outputStream, context);
+        } finally {
+            InvocationDeadline.invocationEnded();
+        }
+    }
+}
@@ -20,16 +20,33 @@ public class DeleteHandler extends BaseHandlerStd {
 
         DeleteAgentRequest deleteAgentRequest = Translator.translateToDeleteRequest(model);
 
+        boolean gone = false;
         try {
             proxy.injectCredentialsAndInvokeV2(deleteAgentRequest, client::deleteAgent);
             logger.log(String.format("%s %s deleted successfully", ResourceModel.TYPE_NAME,
                     model.getAgentArn()));
+            gone = true;
         } catch (InvalidRequestException e) {
+            // Already gone, so reads of it can fail at once as well.
+            gone = true;
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getAgentArn());
         } catch (InternalException e) {
             throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
         } catch (DataSyncException e) {
+            if (e.isThrottlingException()) {
+                // Nothing was deleted, so the callback tries again.
+                return ThrottleCallback.inProgress(model, callbackContext,
+                        Translator.translateDataSyncExceptionToCfnException(e), logger);
+            }
             throw Translator.translateDataSyncExceptionToCfnException(e);
+        } finally {
+            // Whether or not the delete went through, a cached read may no longer hold. Only a resource known
+            // to be gone leaves a tombstone.
+            if (gone) {
+                ReadHandler.READ_CACHE.markDeleted(request.getAwsAccountId(), model.getAgentArn());
+            } else {
+                ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), model.getAgentArn());
+            }
         }
 
         return ProgressEvent.defaultSuccessHandler(null);
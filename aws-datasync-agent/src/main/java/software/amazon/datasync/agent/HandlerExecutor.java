@@ -0,0 +1,166 @@
+package software.amazon.datasync.agent;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent DataSync calls of a handler invocation, such as Describe and ListTagsForResource,
+ * alongside each other. On Java 21 and later every call gets its own virtual thread; on earlier
+ * runtimes, or when the {@code virtualThreads} setting is false, a fixed pool of daemon platform
+ * threads is used instead. Either way at most {@code fanOutConcurrency} calls (default 4) run at once
+ * across the container, and further calls wait for a permit.
+ *
+ * <p>Calls submitted here must not wait on other calls submitted here, so that a pool of one thread
+ * cannot deadlock: the handler thread does the waiting.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class HandlerExecutor {
+    private static final int DEFAULT_CONCURRENCY = 4;
+
+    private static final int CONCURRENCY =
+            Math.max(1, HandlerSettings.getInt("fanOutConcurrency", DEFAULT_CONCURRENCY));
+    private static final Semaphore PERMITS = new Semaphore(CONCURRENCY);
+
+    private static final ExecutorService VIRTUAL_EXECUTOR =
+            HandlerSettings.getBoolean("virtualThreads", true) ? newVirtualThreadExecutor() : null;
+    private static final ExecutorService EXECUTOR =
+            VIRTUAL_EXECUTOR != null ? VIRTUAL_EXECUTOR : Executors.newFixedThreadPool(CONCURRENCY, new DaemonThreadFactory());
+
+    /**
+     * Start the call on the executor once a permit is available. Cancelling the returned future with
+     * {@code mayInterruptIfRunning} interrupts the call, which aborts a DataSync request in flight.
+     */
+    static <T> CompletableFuture<T> supplyAsync(final Supplier<T> call) {
+        final InterruptibleFuture<T> future = new InterruptibleFuture<>();
+        EXECUTOR.execute(() -> future.run(call));
+        return future;
+    }
+
+    /**
+     * Wait for a call started with {@link #supplyAsync} and rethrow its failure unwrapped, so handlers
+     * surface the same exceptions as when the call runs on the handler thread.
+     */
+    static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for two calls started with {@link #supplyAsync}, failing as soon as either of them fails.
+     * The other call is then cancelled, since its result would not be used, and the failure is
+     * rethrown unwrapped as by {@link #join}.
+     */
+    static void joinBoth(final CompletableFuture<?> first, final CompletableFuture<?> second) {
+        final CompletableFuture<Void> failure = new CompletableFuture<>();
+        final BiConsumer<Object, Throwable> onFailure = (result, throwable) -> {
+            if (throwable != null) {
+                failure.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable);
+            }
+        };
+        first.whenComplete(onFailure);
+        second.whenComplete(onFailure);
+
+        try {
+            join(CompletableFuture.anyOf(CompletableFuture.allOf(first, second), failure));
+        } catch (RuntimeException | Error e) {
+            first.cancel(true);
+            second.cancel(true);
+            throw e;
+        }
+    }
+
+    static boolean usesVirtualThreads() {
+        return VIRTUAL_EXECUTOR != null;
+    }
+
+    static int getConcurrency() {
+        return CONCURRENCY;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor is looked up reflectively, since the modules are compiled for Java 8.
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    private static final class InterruptibleFuture<T> extends CompletableFuture<T> {
+        // The thread running the call, guarded by this future.
+        private Thread runner;
+
+        void run(final Supplier<T> call) {
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                PERMITS.acquire();
+                try {
+                    complete(call.get());
+                } finally {
+                    PERMITS.release();
+                }
+            } catch (InterruptedException e) {
+                completeExceptionally(new CancellationException());
+            } catch (Throwable t) {
+                completeExceptionally(t);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+                // Do not leave a late cancellation's interrupt on the pooled thread.
+                Thread.interrupted();
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && mayInterruptIfRunning) {
+                synchronized (this) {
+                    if (runner != null) {
+                        runner.interrupt();
+                    }
+                }
+            }
+            return cancelled;
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "datasync-fan-out-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package software.amazon.datasync.agent;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.regions.ServiceMetadata;
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms up the handler while the function initialises, so that the first invocation does not pay
+ * for class loading, Jackson introspection of the resource model, SDK client construction and
+ * request marshalling. Priming runs once per container from {@link Configuration}, which the
+ * generated HandlerWrapper builds at initialisation.
+ *
+ * <p>Priming is on by default and can be disabled with the {@code primeOnInit} setting. Setting
+ * {@code primeConnection} to true also opens a connection to the DataSync endpoint, paying for
+ * the TCP and TLS handshake up front; it is off by default because it makes a network call during
+ * initialisation.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class HandlerPrimer {
+    private static final String PRIMING_ARN = "arn:aws:datasync:us-east-1:123456789012:agent/agent-00000000000000000";
+    private static final String DEFAULT_REGION = "us-east-1";
+    private static final AtomicBoolean PRIMED = new AtomicBoolean();
+
+    static void primeOnInit() {
+        if (HandlerSettings.getBoolean("primeOnInit", true)) {
+            prime(HandlerSettings.getBoolean("primeConnection", false));
+        }
+    }
+
+    /**
+     * Run each priming step once per container. Every step is best effort: a failure only means the
+     * first invocation pays for whatever was not warmed here.
+     *
+     * @param openConnection whether to also open a pooled connection to the DataSync endpoint
+     * @return true if priming ran, false if it had already run in this container
+     */
+    static boolean prime(final boolean openConnection) {
+        if (!PRIMED.compareAndSet(false, true)) {
+            return false;
+        }
+        final String region = getRegion();
+        primeModel();
+        primeClient(region);
+        primeMarshalling(region);
+        if (openConnection) {
+            primeConnection(region);
+        }
+        return true;
+    }
+
+    // Visible for testing.
+    static void reset() {
+        PRIMED.set(false);
+    }
+
+    /**
+     * Build the pooled client for the function's region again, for example after the pool was cleared.
+     */
+    static void primeClient() {
+        primeClient(getRegion());
+    }
+
+    private static void primeModel() {
+        final ResourceModel model = primingModel();
+        try {
+            final Serializer serializer = new Serializer();
+            serializer.deserialize(serializer.serialize(model), new TypeReference<ResourceModel>() {});
+        } catch (IOException | RuntimeException e) {
+            // Best effort.
+        }
+    }
+
+    private static void primeClient(final String region) {
+        try {
+            ClientBuilder.getClient(region);
+        } catch (RuntimeException e) {
+            // Best effort.
+        }
+    }
+
+    /**
+     * Send a Describe and a ListTagsForResource call through a throwaway client that stops each call
+     * just before transmission, after it has been marshalled and signed.
+     */
+    private static void primeMarshalling(final String region) {
+        final DataSyncClient client;
+        try {
+            client = DataSyncClient.builder()
+                    .httpClient(ClientBuilder.getHttpClient())
+                    .region(Region.of(region))
+                    .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("priming", "priming")))
+                    .overrideConfiguration(o -> o.retryPolicy(RetryPolicy.none())
+                            .addExecutionInterceptor(new StopBeforeTransmission()))
+                    .build();
+        } catch (RuntimeException e) {
+            return;
+        }
+        try {
+            client.describeAgent(Translator.translateToReadRequest(primingModel()));
+        } catch (RuntimeException e) {
+            // Expected: the call is stopped before it is sent.
+        }
+        try {
+            client.listTagsForResource(TagTranslator.translateToListTagsRequest(PRIMING_ARN));
+        } catch (RuntimeException e) {
+            // Expected: the call is stopped before it is sent.
+        }
+        client.close();
+    }
+
+    /**
+     * Make an unsigned request to the endpoint and drain the response, leaving the connection in the
+     * shared HTTP client's pool for the first real call. The response status does not matter.
+     */
+    private static void primeConnection(final String region) {
+        final String endpointOverride = HandlerSettings.getString("endpointOverride");
+        try {
+            final URI endpoint = endpointOverride != null
+                    ? URI.create(endpointOverride)
+                    : URI.create("https://" + ServiceMetadata.of(DataSyncClient.SERVICE_METADATA_ID)
+                            .endpointFor(Region.of(region)));
+            final SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                    .method(SdkHttpMethod.GET)
+                    .uri(endpoint)
+                    .build();
+            final HttpExecuteResponse response = ClientBuilder.getHttpClient()
+                    .prepareRequest(HttpExecuteRequest.builder().request(request).build())
+                    .call();
+            try (AbortableInputStream body = response.responseBody().orElse(null)) {
+                if (body != null) {
+                    IoUtils.drainInputStream(body);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Best effort.
+        }
+    }
+
+    private static ResourceModel primingModel() {
+        return ResourceModel.builder()
+                .agentArn(PRIMING_ARN)
+                .build();
+    }
+
+    private static String getRegion() {
+        final String region = System.getenv("AWS_REGION");
+        return region == null || region.isEmpty() ? DEFAULT_REGION : region;
+    }
+
+    private static class StopBeforeTransmission implements ExecutionInterceptor {
+        @Override
+        public void beforeTransmission(final Context.BeforeTransmission context,
+                                       final ExecutionAttributes executionAttributes) {
+            throw new IllegalStateException("Priming call stopped before transmission");
+        }
+    }
+}
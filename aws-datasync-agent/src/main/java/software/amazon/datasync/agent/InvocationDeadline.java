@@ -0,0 +1,168 @@
+package software.amazon.datasync.agent;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The time left in one handler invocation. The deadline starts when the handler is entered and ends
+ * when the Lambda invocation does, as recorded by {@link DeadlineHandlerWrapper} from the Lambda
+ * context, or after the {@code invocationBudget} setting (default 15 minutes, the Lambda maximum) if
+ * that is sooner. Outside Lambda, where no remaining time is recorded, the setting alone applies.
+ *
+ * <p>Every DataSync call made through {@link #invoke} gets an {@code apiCallTimeout} that ends the call,
+ * retries included, while {@code deadlineSafetyMargin} (default 5 seconds) is still left, and an
+ * {@code apiCallAttemptTimeout} of at most {@code callAttemptTimeout} (default 10 seconds). A call
+ * that would start within the safety margin, or that runs out its timeout, throws
+ * {@link ExpiredException}, and the handler answers with {@link #inProgress} so that CloudFormation
+ * calls it back with a fresh budget instead of the function being stopped mid-update.
+ */
+final class InvocationDeadline {
+    private static final long DEFAULT_BUDGET_MILLIS = 900_000;
+    private static final long DEFAULT_SAFETY_MARGIN_MILLIS = 5_000;
+    private static final long DEFAULT_ATTEMPT_TIMEOUT_MILLIS = 10_000;
+    private static final int DEFAULT_CALLBACK_DELAY_SECONDS = 1;
+
+    // When the running Lambda invocation ends, on the System.nanoTime() clock; null when not known.
+    private static volatile Long invocationEndNanos;
+
+    private final long deadlineNanos;
+    private final long safetyMarginMillis;
+    private final long attemptTimeoutMillis;
+
+    InvocationDeadline(final long budgetMillis, final long safetyMarginMillis, final long attemptTimeoutMillis) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.safetyMarginMillis = safetyMarginMillis;
+        this.attemptTimeoutMillis = attemptTimeoutMillis;
+    }
+
+    /**
+     * @return a deadline for the invocation that is starting, read from the handler settings
+     */
+    static InvocationDeadline start() {
+        long budgetMillis = HandlerSettings.getLong("invocationBudget", DEFAULT_BUDGET_MILLIS);
+        final Long endNanos = invocationEndNanos;
+        if (endNanos != null) {
+            budgetMillis = Math.min(budgetMillis, TimeUnit.NANOSECONDS.toMillis(endNanos - System.nanoTime()));
+        }
+        return new InvocationDeadline(
+                budgetMillis,
+                HandlerSettings.getLong("deadlineSafetyMargin", DEFAULT_SAFETY_MARGIN_MILLIS),
+                HandlerSettings.getLong("callAttemptTimeout", DEFAULT_ATTEMPT_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Record the time the Lambda invocation that is starting has left, for {@link #start} to bound its
+     * deadline by.
+     *
+     * @param remainingMillis the remaining time reported by the Lambda context
+     */
+    static void invocationStarted(final long remainingMillis) {
+        invocationEndNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+    }
+
+    /**
+     * Forget the remaining time once the Lambda invocation has returned.
+     */
+    static void invocationEnded() {
+        invocationEndNanos = null;
+    }
+
+    long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * @return true once less than the safety margin is left, so no further call should start
+     */
+    boolean isExpiring() {
+        return remainingMillis() < safetyMarginMillis;
+    }
+
+    /**
+     * Make the call through the proxy, bounded by the time left before the safety margin.
+     *
+     * @throws ExpiredException if the call would start within the safety margin or did not complete in time
+     */
+    <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT invoke(
+            final AmazonWebServicesClientProxy proxy,
+            final RequestT request,
+            final Function<RequestT, ResponseT> call) {
+        final String operation = getOperationName(request);
+        if (isExpiring()) {
+            throw new ExpiredException(operation, false, null);
+        }
+        try {
+            // The proxy replaces the request's override configuration with its credentials, so the
+            // timeouts are added to the request it hands to the client.
+            return proxy.injectCredentialsAndInvokeV2(request, withCredentials -> call.apply(withTimeouts(withCredentials)));
+        } catch (ApiCallTimeoutException e) {
+            throw new ExpiredException(operation, true, e);
+        }
+    }
+
+    /**
+     * @return an IN_PROGRESS event that has CloudFormation call the handler back with the given model
+     */
+    ProgressEvent<ResourceModel, CallbackContext> inProgress(
+            final ResourceModel model,
+            final CallbackContext callbackContext) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .callbackContext(callbackContext != null ? callbackContext : new CallbackContext())
+                .callbackDelaySeconds(HandlerSettings.getInt("deadlineCallbackDelay", DEFAULT_CALLBACK_DELAY_SECONDS))
+                .status(OperationStatus.IN_PROGRESS)
+                .build();
+    }
+
+    private <RequestT extends AwsRequest> RequestT withTimeouts(final RequestT request) {
+        final long callTimeoutMillis = Math.max(1, remainingMillis() - safetyMarginMillis);
+        final AwsRequestOverrideConfiguration overrideConfiguration = request.overrideConfiguration()
+                .map(AwsRequestOverrideConfiguration::toBuilder)
+                .orElseGet(AwsRequestOverrideConfiguration::builder)
+                .apiCallTimeout(Duration.ofMillis(callTimeoutMillis))
+                .apiCallAttemptTimeout(Duration.ofMillis(Math.min(callTimeoutMillis, attemptTimeoutMillis)))
+                .build();
+
+        // toBuilder() keeps the concrete request type.
+        @SuppressWarnings("unchecked")
+        final RequestT bounded = (RequestT) request.toBuilder()
+                .overrideConfiguration(overrideConfiguration)
+                .build();
+        return bounded;
+    }
+
+    private static String getOperationName(final AwsRequest request) {
+        final String name = request.getClass().getSimpleName();
+        return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+    }
+
+    /**
+     * Thrown when the invocation has run out of time for a DataSync call.
+     */
+    static class ExpiredException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean callStarted;
+
+        ExpiredException(final String operation, final boolean callStarted, final Throwable cause) {
+            super(String.format("%s did not complete within the invocation budget", operation), cause);
+            this.callStarted = callStarted;
+        }
+
+        /**
+         * @return true if the call was sent and timed out, so its outcome is unknown
+         */
+        boolean isCallStarted() {
+            return callStarted;
+        }
+    }
+}
@@ -28,20 +28,9 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             final Logger logger) {
 
         final String nextToken = request.getNextToken();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
 
-        final ListAgentsRequest listAgentsRequest = Translator.translateToListRequest(nextToken);
-
-        final ListAgentsResponse response;
-        try {
-            response = proxy.injectCredentialsAndInvokeV2(listAgentsRequest, client::listAgents);
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
-        }
+        final ListAgentsResponse response = listAgents(proxy, client, nextToken);
 
         List<ResourceModel> models = new ArrayList<>();
         for (AgentListEntry a : response.agents()) {
@@ -52,10 +41,53 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             models.add(model);
         }
 
+        if (ListEnricher.isEnabled()) {
+            return enriched(proxy, request, logger, models, response.nextToken());
+        }
+
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModels(models)
                 .status(OperationStatus.SUCCESS)
                 .nextToken(response.nextToken())
                 .build();
     }
+
+    /**
+     * Answer with the full model of each listed resource, read within the time of this invocation.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> enriched(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final Logger logger,
+            final List<ResourceModel> listed,
+            final String nextToken) {
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        final ListEnricher.Page page = ListEnricher.enrich(listed, ResourceModel::getAgentArn,
+                model -> new ReadHandler().handleRequest(
+                        proxy, ListEnricher.toReadRequest(request, model), null, logger, deadline).getResourceModel(),
+                logger);
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModels(page.getModels())
+                .message(page.getMessage())
+                .status(OperationStatus.SUCCESS)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private static ListAgentsResponse listAgents(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final String nextToken) {
+        final ListAgentsRequest listAgentsRequest = Translator.translateToListRequest(nextToken);
+        try {
+            return proxy.injectCredentialsAndInvokeV2(listAgentsRequest, client::listAgents);
+        } catch (InvalidRequestException e) {
+            throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
+        } catch (InternalException e) {
+            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+        } catch (DataSyncException e) {
+            throw Translator.translateDataSyncExceptionToCfnException(e);
+        }
+    }
 }
@@ -6,19 +6,16 @@ import software.amazon.awssdk.services.datasync.model.DescribeAgentRequest;
 import software.amazon.awssdk.services.datasync.model.DescribeAgentResponse;
 import software.amazon.awssdk.services.datasync.model.InternalException;
 import software.amazon.awssdk.services.datasync.model.InvalidRequestException;
-import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
-import software.amazon.awssdk.services.datasync.model.ListTagsForResourceResponse;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.*;
 
-import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 
 public class ReadHandler extends BaseHandlerStd {
-    private static final String AWS_CFN_TAG_PREFIX = "aws:cloudformation:";
+    static final ReadCache<DescribeAgentResponse> READ_CACHE = ReadCache.fromSettings();
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -28,44 +25,32 @@ public class ReadHandler extends BaseHandlerStd {
             final ProxyClient<DataSyncClient> proxyClient,
             final Logger logger) {
 
-        final DataSyncClient client = ClientBuilder.getClient();
-        final ResourceModel model = request.getDesiredResourceState();
-
-        final DescribeAgentRequest describeAgentRequest = Translator.translateToReadRequest(model);
-
-        DescribeAgentResponse response;
+        final InvocationDeadline deadline = InvocationDeadline.start();
         try {
-            response = proxy.injectCredentialsAndInvokeV2(describeAgentRequest, client::describeAgent);
-        } catch (InvalidRequestException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getAgentArn());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
+            return handleRequest(proxy, request, callbackContext, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            // A Read has to complete within one invocation, so running out of time fails it.
+            throw new CfnServiceInternalErrorException(e.getMessage(), e);
         }
+    }
 
-        // Since tags are not returned by the DescribeAgent call but can be modified,
-        // we must separately retrieve and return them to ensure we return an up-to-date model.
-        final ListTagsForResourceRequest listTagsForResourceRequest = Translator.translateToListTagsRequest(model);
+    /**
+     * Read within the deadline of the calling handler, which handles {@link InvocationDeadline.ExpiredException}.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger,
+            final InvocationDeadline deadline) {
 
-        ListTagsForResourceResponse tagsResponse;
-        try {
-            tagsResponse = proxy.injectCredentialsAndInvokeV2(listTagsForResourceRequest, client::listTagsForResource);
-        } catch (InvalidRequestException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getAgentArn());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
-        }
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
+        final ResourceModel model = request.getDesiredResourceState();
 
-        Set<Tag> allTags = new HashSet<Tag>();
-        if (tagsResponse.tags() != null) {
-            allTags = Translator.translateTagListEntries(tagsResponse.tags());
-        }
-        final Set<Tag> userTags = allTags.stream()
-                .filter(tag -> !tag.getKey().startsWith(AWS_CFN_TAG_PREFIX))
-                .collect(Collectors.toSet());
+        final ReadCache.Entry<DescribeAgentResponse> read = READ_CACHE.get(
+                request.getAwsAccountId(), model.getAgentArn(), () -> describeWithTags(proxy, client, model, deadline));
+        final DescribeAgentResponse response = read.getResponse();
+        final Set<Tag> userTags = read.getUserTags();
 
         ResourceModel returnModel = ResourceModel.builder()
                 .agentArn(response.agentArn())
@@ -80,4 +65,36 @@ public class ReadHandler extends BaseHandlerStd {
         return ProgressEvent.defaultSuccessHandler(returnModel);
     }
 
+    /**
+     * Describe the agent and list its user tags.
+     */
+    private static ReadCache.Entry<DescribeAgentResponse> describeWithTags(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final ResourceModel model,
+            final InvocationDeadline deadline) {
+
+        final DescribeAgentRequest describeAgentRequest = Translator.translateToReadRequest(model);
+
+        // Since tags are not returned by the DescribeAgent call but can be modified,
+        // we must separately retrieve and return them to ensure we return an up-to-date model.
+        // The two calls only need the ARN, so they run at once.
+        final CompletableFuture<DescribeAgentResponse> describe = HandlerExecutor.supplyAsync(() -> {
+            try {
+                return deadline.invoke(proxy, describeAgentRequest, client::describeAgent);
+            } catch (InvalidRequestException e) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getAgentArn());
+            } catch (InternalException e) {
+                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+            } catch (DataSyncException e) {
+                throw Translator.translateDataSyncExceptionToCfnException(e);
+            }
+        });
+        final CompletableFuture<Set<Tag>> tags = HandlerExecutor.supplyAsync(
+                () -> TagRequestMaker.listUserTagsForResource(proxy, client, model.getAgentArn(), deadline));
+
+        HandlerExecutor.joinBoth(describe, tags);
+        return ReadCache.entry(HandlerExecutor.join(describe), HandlerExecutor.join(tags));
+    }
+
 }
@@ -0,0 +1,115 @@
+package software.amazon.datasync.agent;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.services.datasync.model.TagListEntry;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies the tag changes of an Update in requests the service accepts: TagResource takes at most 50 tags and
+ * UntagResource at most 50 keys, so a change is split into chunks of up to {@code tagChunkSize} (default and
+ * most 50). The chunks run one at a time, the removals first, so that a tag added again is not removed after
+ * it, and the first failure stops the chunks after it. A resource holds at most {@link TagDiff#MAX_TAGS} tags,
+ * which {@link TagDiff} checks up front, so a change is seldom more than one request of each. The outcome of
+ * each chunk is logged.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class TagChunks {
+    static final int MAX_TAGS_PER_REQUEST = 50;
+
+    private static final int CHUNK_SIZE = Math.max(1,
+            Math.min(MAX_TAGS_PER_REQUEST, HandlerSettings.getInt("tagChunkSize", MAX_TAGS_PER_REQUEST)));
+
+    /**
+     * Remove and add the tags of the diff, a chunk at a time.
+     *
+     * @param tagDiff the changes to make
+     * @param untag makes an UntagResource request for the keys it is given
+     * @param tag makes a TagResource request for the tags it is given
+     * @param resourceArn the resource being tagged, for the log
+     * @param logger
+     */
+    static void apply(
+            final TagDiff tagDiff,
+            final Consumer<List<String>> untag,
+            final Consumer<List<TagListEntry>> tag,
+            final String resourceArn,
+            final Logger logger) {
+        final List<Chunk<Runnable>> chunks = chunksOf(tagDiff,
+                keys -> () -> untag.accept(keys),
+                tags -> () -> tag.accept(tags));
+        for (Chunk<Runnable> chunk : chunks) {
+            try {
+                chunk.call.run();
+            } catch (RuntimeException e) {
+                logFailure(chunk, resourceArn, e, logger);
+                throw e;
+            }
+            logSuccess(chunk, resourceArn, logger);
+        }
+    }
+
+    private static <C> List<Chunk<C>> chunksOf(
+            final TagDiff tagDiff,
+            final Function<List<String>, C> untag,
+            final Function<List<TagListEntry>, C> tag) {
+        final List<List<String>> keyChunks = split(tagDiff.getKeysToRemove(), CHUNK_SIZE);
+        final List<List<TagListEntry>> tagChunks = split(tagDiff.getTagsToAdd(), CHUNK_SIZE);
+
+        final List<Chunk<C>> chunks = new ArrayList<>(keyChunks.size() + tagChunks.size());
+        for (int i = 0; i < keyChunks.size(); i++) {
+            final List<String> keys = keyChunks.get(i);
+            chunks.add(new Chunk<>(String.format("old tags removal %d of %d (%d keys)", i + 1, keyChunks.size(),
+                    keys.size()), untag.apply(keys)));
+        }
+        for (int i = 0; i < tagChunks.size(); i++) {
+            final List<TagListEntry> tags = tagChunks.get(i);
+            chunks.add(new Chunk<>(String.format("tags update %d of %d (%d tags)", i + 1, tagChunks.size(),
+                    tags.size()), tag.apply(tags)));
+        }
+        return chunks;
+    }
+
+    /**
+     * @return consecutive views of the list of at most {@code size} elements each
+     */
+    static <T> List<List<T>> split(final List<T> items, final int size) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<List<T>> chunks = new ArrayList<>((items.size() + size - 1) / size);
+        for (int start = 0; start < items.size(); start += size) {
+            chunks.add(items.subList(start, Math.min(items.size(), start + size)));
+        }
+        return chunks;
+    }
+
+    private static void logSuccess(final Chunk<?> chunk, final String resourceArn, final Logger logger) {
+        logger.log(String.format("%s %s %s succeeded", ResourceModel.TYPE_NAME, resourceArn, chunk.description));
+    }
+
+    private static void logFailure(
+            final Chunk<?> chunk,
+            final String resourceArn,
+            final Throwable e,
+            final Logger logger) {
+        logger.log(String.format("%s %s %s failed: %s", ResourceModel.TYPE_NAME, resourceArn, chunk.description,
+                e.getMessage()));
+    }
+
+    private static final class Chunk<C> {
+        private final String description;
+        private final C call;
+
+        Chunk(final String description, final C call) {
+            this.description = description;
+            this.call = call;
+        }
+    }
+}
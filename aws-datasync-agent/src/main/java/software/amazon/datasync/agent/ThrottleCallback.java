@@ -0,0 +1,98 @@
+package software.amazon.datasync.agent;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Has CloudFormation call a handler back when DataSync throttles it, rather than failing the operation once the
+ * client's own retries are spent. The handler answers IN_PROGRESS and records the steps it completed in its
+ * {@link CallbackContext}, so the callback carries on from there. The callback delay is a random number of
+ * seconds between half and all of {@code throttleCallbackBaseDelay} (default 2) doubled for each earlier
+ * throttled callback of the operation, capped at {@code throttleCallbackMaxDelay} (default 60). Once the delays
+ * would add up to more than {@code throttleCallbackBudget} seconds (default 600) the throttling is reported
+ * instead.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ThrottleCallback {
+    private static final int DEFAULT_BASE_DELAY_SECONDS = 2;
+    private static final int DEFAULT_MAX_DELAY_SECONDS = 60;
+    private static final int DEFAULT_BUDGET_SECONDS = 600;
+
+    /**
+     * @return whether the failure is DataSync throttling the call, translated or not
+     */
+    static boolean isThrottling(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof CfnThrottlingException
+                || (cause instanceof SdkServiceException && ((SdkServiceException) cause).isThrottlingException());
+    }
+
+    /**
+     * Count a throttled attempt in the callback context and have CloudFormation call back after the delay for it.
+     *
+     * @param model the model to call back with
+     * @param callbackContext the context holding the steps completed so far, or null if there are none
+     * @param throttled the throttling failure, thrown once the budget is spent, unwrapped as by
+     * {@link HandlerExecutor#join}
+     * @param logger logs the callback delay
+     * @return an IN_PROGRESS event carrying the callback context
+     */
+    static ProgressEvent<ResourceModel, CallbackContext> inProgress(
+            final ResourceModel model,
+            final CallbackContext callbackContext,
+            final RuntimeException throttled,
+            final Logger logger) {
+        final RuntimeException failure = unwrap(throttled);
+        final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        final int delaySeconds = delaySeconds(context.getThrottledAttempts(), ThreadLocalRandom.current());
+        if (context.getThrottledDelaySeconds() + delaySeconds
+                > HandlerSettings.getInt("throttleCallbackBudget", DEFAULT_BUDGET_SECONDS)) {
+            throw failure;
+        }
+        context.setThrottledAttempts(context.getThrottledAttempts() + 1);
+        context.setThrottledDelaySeconds(context.getThrottledDelaySeconds() + delaySeconds);
+        logger.log(String.format("%s throttled (%s), calling back in %d seconds (attempt %d)", ResourceModel.TYPE_NAME,
+                failure.getMessage(), delaySeconds, context.getThrottledAttempts()));
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .callbackContext(context)
+                .callbackDelaySeconds(delaySeconds)
+                .status(OperationStatus.IN_PROGRESS)
+                .build();
+    }
+
+    /**
+     * @return the failure inside any {@link CompletionException}, as {@link HandlerExecutor#join} rethrows it
+     */
+    private static RuntimeException unwrap(final RuntimeException throwable) {
+        RuntimeException cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() instanceof RuntimeException) {
+            cause = (RuntimeException) cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * @param attempt the throttled callbacks of the operation so far
+     * @return the callback delay for the next one, in seconds, at least 1
+     */
+    static int delaySeconds(final int attempt, final Random random) {
+        final long base = Math.max(1, HandlerSettings.getInt("throttleCallbackBaseDelay", DEFAULT_BASE_DELAY_SECONDS));
+        final long max = Math.max(1, HandlerSettings.getInt("throttleCallbackMaxDelay", DEFAULT_MAX_DELAY_SECONDS));
+        final long ceiling = Math.min(max, base << Math.min(attempt, 30));
+        return (int) (ceiling - random.nextInt((int) (ceiling / 2) + 1));
+    }
+}
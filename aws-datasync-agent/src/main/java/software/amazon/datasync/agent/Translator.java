@@ -57,20 +57,6 @@ public class Translator {
                 .build();
     }
 
-    public static TagResourceRequest translateToTagResourceRequest(Set<Tag> tagsToAdd, String agentArn) {
-        return TagResourceRequest.builder()
-                .resourceArn(agentArn)
-                .tags(translateTags(tagsToAdd))
-                .build();
-    }
-
-    public static UntagResourceRequest translateToUntagResourceRequest(Set<String> tagsToRemove, String agentArn) {
-        return UntagResourceRequest.builder()
-                .resourceArn(agentArn)
-                .keys(tagsToRemove)
-                .build();
-    }
-
     // Convert Tag to TagListEntry
     static Set<TagListEntry> translateTags(final Set<Tag> tags) {
         if (tags == null)
@@ -126,6 +126,33 @@ public class DeleteHandlerTest extends AbstractTestBase {
         } );
     }
 
+    @Test
+    public void handleRequest_ThenRead_FailsWithoutCallingDataSync() {
+        final String ttl = System.getProperty("datasync.tombstoneTtl");
+        System.setProperty("datasync.tombstoneTtl", "60000");
+        ReadHandler.READ_CACHE.clear();
+        try {
+            when(proxyClient.client().deleteAgent(any(DeleteAgentRequest.class)))
+                    .thenReturn(DeleteAgentResponse.builder().build());
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .awsAccountId("123456789012")
+                    .desiredResourceState(buildDefaultModel())
+                    .build();
+
+            new DeleteHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+            assertThrows(CfnNotFoundException.class, () -> new ReadHandler().handleRequest(proxy, request, null, proxyClient, logger));
+            assertThat(ReadHandler.READ_CACHE.getTombstoneHitCount()).isEqualTo(1);
+        } finally {
+            if (ttl == null) {
+                System.clearProperty("datasync.tombstoneTtl");
+            } else {
+                System.setProperty("datasync.tombstoneTtl", ttl);
+            }
+            ReadHandler.READ_CACHE.clear();
+        }
+    }
+
     private static ResourceModel buildDefaultModel() {
         final String agentArn = "arn:aws:datasync:us-east-1:123456789012:agent/agent-01234567890123456"; // dummy agent arn
         return ResourceModel.builder()
@@ -1,6 +1,7 @@
 package software.amazon.datasync.agent;
 
 import software.amazon.awssdk.services.datasync.model.AgentListEntry;
+import software.amazon.awssdk.services.datasync.model.DescribeAgentRequest;
 import software.amazon.awssdk.services.datasync.model.ListAgentsRequest;
 import software.amazon.awssdk.services.datasync.model.ListAgentsResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -21,6 +22,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest {
@@ -73,6 +76,28 @@ public class ListHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_EnrichedOutOfTime_ListsWithoutReading() {
+        System.setProperty("datasync.listEnriched", "true");
+        System.setProperty("datasync.invocationBudget", "0");
+        try {
+            doReturn(ListAgentsResponse.builder().agents(buildDefaultList()).build())
+                    .when(proxy)
+                    .injectCredentialsAndInvokeV2(any(ListAgentsRequest.class), any());
+
+            final ProgressEvent<ResourceModel, CallbackContext> response = new ListHandler().handleRequest(
+                    proxy, ResourceHandlerRequest.<ResourceModel>builder().build(), null, logger);
+
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+            assertThat(response.getResourceModels()).containsExactly(buildDefaultModel1(), buildDefaultModel2());
+            assertThat(response.getMessage()).startsWith("2 of 2 resources are listed without their full model.");
+            verify(proxy, never()).injectCredentialsAndInvokeV2(any(DescribeAgentRequest.class), any());
+        } finally {
+            System.clearProperty("datasync.listEnriched");
+            System.clearProperty("datasync.invocationBudget");
+        }
+    }
+
     private static List<AgentListEntry> buildDefaultList() {
         final String agentArn1 = "arn:aws:datasync:us-east-1:123456789012:agent/agent-01234567890123456";
         final String agentArn2 = "arn:aws:datasync:us-east-1:123456789012:agent/agent-abcdefabcdefabcde";
@@ -17,6 +17,11 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.datasync.model.DescribeAgentRequest;
+import software.amazon.awssdk.services.datasync.model.UpdateAgentResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,12 +29,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.junit.jupiter.api.AfterEach;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -37,6 +44,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateHandlerTest {
@@ -53,6 +63,11 @@ public class UpdateHandlerTest {
         logger = mock(Logger.class);
     }
 
+    @AfterEach
+    public void tearDown() {
+        ClientBuilder.closeClient();
+    }
+
     @Test
     public void handleRequest_SimpleSuccess() {
         final UpdateHandler handler = new UpdateHandler();
@@ -89,6 +104,35 @@ public class UpdateHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_UpdateThenReadSharesClient() {
+        final UpdateHandler handler = new UpdateHandler();
+        final DataSyncClient client = mock(DataSyncClient.class);
+        ClientBuilder.setClient(client);
+        doAnswer(invocation -> {
+            final Function<AwsRequest, AwsResponse> call = invocation.getArgument(1);
+            return call.apply(invocation.getArgument(0));
+        }).when(proxy).injectCredentialsAndInvokeV2(any(), any());
+
+        doReturn(UpdateAgentResponse.builder().build()).when(client).updateAgent(any(UpdateAgentRequest.class));
+        doReturn(buildDefaultResponse()).when(client).describeAgent(any(DescribeAgentRequest.class));
+        doReturn(buildDefaultTagsResponse()).when(client).listTagsForResource(any(ListTagsForResourceRequest.class));
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildDefaultModel())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(client).updateAgent(any(UpdateAgentRequest.class));
+        verify(client).describeAgent(any(DescribeAgentRequest.class));
+        verify(client).listTagsForResource(any(ListTagsForResourceRequest.class));
+        assertThat(ClientBuilder.getClient()).isSameAs(client);
+    }
+
     @Test
     public void handleRequest_TagUpdateSuccess() {
         final UpdateHandler handler = new UpdateHandler();
@@ -0,0 +1,125 @@
+package software.amazon.datasync.locationefs;
+
+import lombok.Value;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A bounded pool of DataSync clients (sync or async) keyed by region and endpoint override. Clients
+ * are kept in least-recently-used order; when a new key would exceed the pool size, the client that
+ * has gone unused the longest is evicted. The pool does not know when the handlers that acquired a
+ * client are done with it, and closing an async client ends the calls it has in flight, so an evicted
+ * client is not closed then but kept until {@link #clear}, which runs at shutdown and around a
+ * checkpoint. A function serving one region keeps a single key and never evicts.
+ *
+ * @param <C> the client type held by the pool
+ */
+public class DataSyncClientPool<C extends SdkAutoCloseable> {
+
+    private final int maxClients;
+    private final Function<Key, C> clientFactory;
+    private final LinkedHashMap<Key, C> clients = new LinkedHashMap<>(16, 0.75f, true);
+    // Evicted clients, which a handler may still be using; guarded by the clients lock.
+    private final List<C> retired = new ArrayList<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    DataSyncClientPool(final int maxClients, final Function<Key, C> clientFactory) {
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("maxClients must be at least 1");
+        }
+        this.maxClients = maxClients;
+        this.clientFactory = clientFactory;
+    }
+
+    /**
+     * Return the pooled client for the given region and endpoint override, building it on a miss.
+     *
+     * @param region the region to target, or null to use the default region provider chain
+     * @param endpointOverride the endpoint to target, or null to use the regional endpoint
+     * @return a client shared by every caller using the same region and endpoint
+     */
+    public C acquire(final String region, final String endpointOverride) {
+        final Key key = new Key(region, endpointOverride);
+        synchronized (clients) {
+            final C existing = clients.get(key);
+            if (existing != null) {
+                hits.incrementAndGet();
+                return existing;
+            }
+            misses.incrementAndGet();
+            final C client = clientFactory.apply(key);
+            clients.put(key, client);
+            evictEldest();
+            return client;
+        }
+    }
+
+    // Visible for testing: registers a client under the given key, closing any client it replaces.
+    void put(final String region, final String endpointOverride, final C client) {
+        final C previous;
+        synchronized (clients) {
+            previous = clients.put(new Key(region, endpointOverride), client);
+            evictEldest();
+        }
+        if (previous != null && previous != client) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Close and remove every pooled client, and every client evicted since the last clear.
+     */
+    public void clear() {
+        final List<SdkAutoCloseable> closed;
+        synchronized (clients) {
+            closed = new ArrayList<>(clients.values());
+            closed.addAll(retired);
+            clients.clear();
+            retired.clear();
+        }
+        closed.forEach(SdkAutoCloseable::close);
+    }
+
+    public int size() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private void evictEldest() {
+        final Iterator<Map.Entry<Key, C>> eldest = clients.entrySet().iterator();
+        while (clients.size() > maxClients && eldest.hasNext()) {
+            retired.add(eldest.next().getValue());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    @Value
+    static class Key {
+        String region;
+        String endpointOverride;
+    }
+}
@@ -0,0 +1,120 @@
+package software.amazon.datasync.locationefs;
+
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.cloudformation.LambdaWrapper;
+
+import java.time.Duration;
+
+/**
+ * Named HTTP transports for the DataSync client, selected with the {@code httpTransport} setting
+ * ({@code datasync.httpTransport} or {@code DATASYNC_HTTP_TRANSPORT}). Unknown names fall back to
+ * {@link #WRAPPER}, the HTTP client owned by the CloudFormation wrapper.
+ *
+ * <p>Timeouts and pool sizes are read from the following settings, in milliseconds where applicable:
+ * {@code httpConnectionTimeout}, {@code httpSocketTimeout}, {@code httpMaxConnections},
+ * {@code httpConnectionTimeToLive}, {@code httpConnectionMaxIdleTime} and {@code httpTcpKeepAlive}.
+ */
+enum HttpTransportProfile {
+
+    /**
+     * The wrapper's shared Apache client with SDK default settings.
+     */
+    WRAPPER {
+        @Override
+        SdkHttpClient buildHttpClient() {
+            return LambdaWrapper.HTTP_CLIENT;
+        }
+
+        // The wrapper's client is shared with the wrapper itself, so the handler's own has the same settings.
+        @Override
+        SdkHttpClient buildOwnedHttpClient() {
+            return ApacheHttpClient.builder().build();
+        }
+    },
+
+    /**
+     * The JDK {@code HttpURLConnection} transport. It loads the fewest classes, which favours cold
+     * starts, but gives no control over the connection pool.
+     */
+    URL_CONNECTION {
+        @Override
+        SdkHttpClient buildHttpClient() {
+            return UrlConnectionHttpClient.builder()
+                    .connectionTimeout(getDuration("httpConnectionTimeout", DEFAULT_CONNECTION_TIMEOUT_MILLIS))
+                    .socketTimeout(getDuration("httpSocketTimeout", DEFAULT_SOCKET_TIMEOUT_MILLIS))
+                    .build();
+        }
+    },
+
+    /**
+     * An Apache client tuned for a handler: a small pool, since an invocation makes only a few calls
+     * at a time, a bounded connection lifetime so DNS changes are picked up, and no idle connection
+     * reaper thread, which would only run while the container is thawed. Apache enables TCP_NODELAY
+     * by default.
+     */
+    APACHE {
+        @Override
+        SdkHttpClient buildHttpClient() {
+            return ApacheHttpClient.builder()
+                    .maxConnections(HandlerSettings.getInt("httpMaxConnections", DEFAULT_MAX_CONNECTIONS))
+                    .connectionTimeout(getDuration("httpConnectionTimeout", DEFAULT_CONNECTION_TIMEOUT_MILLIS))
+                    .socketTimeout(getDuration("httpSocketTimeout", DEFAULT_SOCKET_TIMEOUT_MILLIS))
+                    .connectionTimeToLive(getDuration("httpConnectionTimeToLive", DEFAULT_CONNECTION_TTL_MILLIS))
+                    .connectionMaxIdleTime(getDuration("httpConnectionMaxIdleTime", DEFAULT_MAX_IDLE_MILLIS))
+                    .tcpKeepAlive(HandlerSettings.getBoolean("httpTcpKeepAlive", true))
+                    .useIdleConnectionReaper(false)
+                    .build();
+        }
+    };
+
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 2_000;
+    private static final long DEFAULT_SOCKET_TIMEOUT_MILLIS = 30_000;
+    private static final long DEFAULT_CONNECTION_TTL_MILLIS = 300_000;
+    private static final long DEFAULT_MAX_IDLE_MILLIS = 60_000;
+    private static final int DEFAULT_MAX_CONNECTIONS = 8;
+
+    /**
+     * Build the HTTP client for this profile. The client is meant to be shared by every pooled
+     * DataSync client, which do not close it.
+     */
+    abstract SdkHttpClient buildHttpClient();
+
+    /**
+     * Build an HTTP client for this profile that the handler can close, to replace the shared one when
+     * its connections have to be dropped, as around a checkpoint. It is the same as
+     * {@link #buildHttpClient} except for {@link #WRAPPER}.
+     */
+    SdkHttpClient buildOwnedHttpClient() {
+        return buildHttpClient();
+    }
+
+    /**
+     * @return the profile named by the {@code httpTransport} setting, or {@link #WRAPPER} if it is unset or unknown
+     */
+    static HttpTransportProfile fromSettings() {
+        return fromName(HandlerSettings.getString("httpTransport"));
+    }
+
+    /**
+     * Accepts the enum constant name in any case, with dashes in place of underscores
+     * (for example {@code url-connection}).
+     */
+    static HttpTransportProfile fromName(final String name) {
+        if (name == null) {
+            return WRAPPER;
+        }
+        final String normalized = name.trim().replace('-', '_').toUpperCase();
+        for (HttpTransportProfile profile : values()) {
+            if (profile.name().equals(normalized)) {
+                return profile;
+            }
+        }
+        return WRAPPER;
+    }
+
+    private static Duration getDuration(final String name, final long defaultMillis) {
+        return Duration.ofMillis(HandlerSettings.getLong(name, defaultMillis));
+    }
+}
@@ -5,6 +5,9 @@ import software.amazon.awssdk.services.datasync.model.DataSyncException;
 import software.amazon.awssdk.services.datasync.model.DeleteLocationRequest;
 import software.amazon.awssdk.services.datasync.model.DescribeLocationEfsRequest;
 import software.amazon.awssdk.services.datasync.model.ListLocationsRequest;
+import software.amazon.awssdk.services.datasync.model.LocationFilter;
+import software.amazon.awssdk.services.datasync.model.LocationFilterName;
+import software.amazon.awssdk.services.datasync.model.Operator;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnThrottlingException;
@@ -12,6 +15,9 @@ import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import java.util.Map;
 
 public class Translator {
+    // The scheme of the URIs of this module's locations.
+    static final String LOCATION_URI_PREFIX = "efs://";
+
 
     public static CreateLocationEfsRequest translateToCreateRequest(final ResourceModel model, Map<String, String> tags) {
         return CreateLocationEfsRequest.builder()
@@ -29,8 +35,17 @@ public class Translator {
                 .build();
     }
 
+    /**
+     * @return a request for the page of the token, filtered on DataSync to the locations of this module; the
+     *         ListHandler still checks the URI of each location listed
+     */
     public static ListLocationsRequest translateToListRequest(final String nextToken) {
         return ListLocationsRequest.builder()
+                .filters(LocationFilter.builder()
+                        .name(LocationFilterName.LOCATION_URI)
+                        .operator(Operator.BEGINS_WITH)
+                        .values(LOCATION_URI_PREFIX)
+                        .build())
                 .nextToken(nextToken)
                 .build();
     }
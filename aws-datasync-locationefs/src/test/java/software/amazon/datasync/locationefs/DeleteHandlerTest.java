@@ -5,6 +5,7 @@ import software.amazon.awssdk.services.datasync.model.DeleteLocationRequest;
 import software.amazon.awssdk.services.datasync.model.DeleteLocationResponse;
 import software.amazon.awssdk.services.datasync.model.InternalException;
 import software.amazon.awssdk.services.datasync.model.InvalidRequestException;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
@@ -25,6 +26,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest {
@@ -130,6 +133,32 @@ public class DeleteHandlerTest {
         } );
     }
 
+    @Test
+    public void handleRequest_ThenRead_FailsWithoutCallingDataSync() {
+        final String ttl = System.getProperty("datasync.tombstoneTtl");
+        System.setProperty("datasync.tombstoneTtl", "60000");
+        ReadHandler.READ_CACHE.clear();
+        try {
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .awsAccountId("123456789012")
+                    .desiredResourceState(buildDefaultModel())
+                    .build();
+
+            new DeleteHandler().handleRequest(proxy, request, null, logger);
+
+            assertThrows(CfnNotFoundException.class, () -> new ReadHandler().handleRequest(proxy, request, null, logger));
+            verify(proxy, never()).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+            assertThat(ReadHandler.READ_CACHE.getTombstoneHitCount()).isEqualTo(1);
+        } finally {
+            if (ttl == null) {
+                System.clearProperty("datasync.tombstoneTtl");
+            } else {
+                System.setProperty("datasync.tombstoneTtl", ttl);
+            }
+            ReadHandler.READ_CACHE.clear();
+        }
+    }
+
     private static ResourceModel buildDefaultModel() {
         final String locationArn = "arn:aws:datasync:us-east-1:123456789012:location/loc-12345678901234567";
         return ResourceModel.builder()
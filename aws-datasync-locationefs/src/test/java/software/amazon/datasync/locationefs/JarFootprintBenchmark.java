@@ -0,0 +1,158 @@
+package software.amazon.datasync.locationefs;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records the footprint of the shaded handler jar: its size, the number of classes it contains, and, from
+ * {@link LocalHandlerRun} in a fresh JVM on the jar, the number of classes loaded and the time from JVM start
+ * to the first Read response. Because the probe runs the handlers on the jar itself, it also fails when the
+ * minimized jar is missing a class that is only loaded by name.
+ *
+ * <p>The {@code slim} build profile runs it in the verify phase: {@code mvn verify -Pslim}. Each figure is
+ * compared with the baseline in {@value #BASELINE}, and the benchmark fails when one exceeds it by more than
+ * {@code benchmark.maxRegression} (default 10%), or {@code benchmark.maxTimeRegression} (default 25%) for
+ * the timing, which is noisier. A module without a baseline fails the check, so that a clean checkout cannot
+ * pass by measuring itself; with {@code -Dbenchmark.updateBaseline=true} the figures are written as the new
+ * baseline instead, to be committed.
+ */
+public class JarFootprintBenchmark {
+    private static final String BASELINE = "src/test/resources/jar-footprint.properties";
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 3);
+    private static final double MAX_REGRESSION = Double.parseDouble(System.getProperty("benchmark.maxRegression", "0.10"));
+    private static final double MAX_TIME_REGRESSION =
+            Double.parseDouble(System.getProperty("benchmark.maxTimeRegression", "0.25"));
+
+    private static final String JAR_BYTES = "jarBytes";
+    private static final String JAR_CLASSES = "jarClasses";
+    private static final String LOADED_CLASSES = "loadedClasses";
+    private static final String TO_FIRST_READ_MILLIS = "toFirstReadMillis";
+
+    @Test
+    public void checkFootprint() throws Exception {
+        final String jar = System.getProperty("benchmark.jar");
+        Assumptions.assumeTrue(jar != null && new File(jar).isFile(), "benchmark.jar is not set to a built jar");
+
+        final Map<String, Long> measured = measure(new File(jar));
+        final Path baselineFile = Paths.get(BASELINE);
+        System.out.println(String.format("%-18s %14s %14s", "figure", "measured", "baseline"));
+
+        if (Boolean.getBoolean("benchmark.updateBaseline")) {
+            writeBaseline(baselineFile, measured);
+            measured.forEach((name, value) -> System.out.println(String.format("%-18s %14d %14s", name, value, "-")));
+            System.out.println("Wrote baseline " + baselineFile);
+            return;
+        }
+
+        assertThat(Files.exists(baselineFile))
+                .as("no baseline at %s; record it with -Dbenchmark.updateBaseline=true and commit it", baselineFile)
+                .isTrue();
+        final Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(baselineFile)) {
+            baseline.load(in);
+        }
+        final List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Long> figure : measured.entrySet()) {
+            final String expected = baseline.getProperty(figure.getKey());
+            System.out.println(String.format("%-18s %14d %14s", figure.getKey(), figure.getValue(),
+                    expected == null ? "-" : expected));
+            if (expected == null) {
+                continue;
+            }
+            final double allowed = TO_FIRST_READ_MILLIS.equals(figure.getKey()) ? MAX_TIME_REGRESSION : MAX_REGRESSION;
+            final long limit = (long) Math.ceil(Long.parseLong(expected) * (1 + allowed));
+            if (figure.getValue() > limit) {
+                regressions.add(String.format("%s is %d, over the limit of %d", figure.getKey(), figure.getValue(), limit));
+            }
+        }
+        assertThat(regressions).as("footprint regressions against %s", baselineFile).isEmpty();
+    }
+
+    private static Map<String, Long> measure(final File jar) throws IOException, InterruptedException {
+        final Map<String, Long> measured = new LinkedHashMap<>();
+        measured.put(JAR_BYTES, jar.length());
+        measured.put(JAR_CLASSES, countClasses(jar));
+
+        final List<long[]> results = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            results.add(runProbe(jar));
+        }
+        measured.put(LOADED_CLASSES, median(results, 3));
+        measured.put(TO_FIRST_READ_MILLIS, median(results, 2));
+        return measured;
+    }
+
+    private static long countClasses(final File jar) throws IOException {
+        try (JarFile file = new JarFile(jar)) {
+            return file.stream().filter(entry -> entry.getName().endsWith(".class")).count();
+        }
+    }
+
+    private static long[] runProbe(final File jar) throws IOException, InterruptedException {
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final String testClasses =
+                new File(LocalHandlerRun.class.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath();
+        final Process process = new ProcessBuilder(java, "-cp", jar.getPath() + File.pathSeparator + testClasses,
+                LocalHandlerRun.class.getName())
+                .redirectErrorStream(true)
+                .start();
+        final StringBuilder output = new StringBuilder();
+        long[] result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(LocalHandlerRun.RESULT_PREFIX)) {
+                    result = Arrays.stream(line.substring(LocalHandlerRun.RESULT_PREFIX.length()).split(" "))
+                            .mapToLong(Long::parseLong)
+                            .toArray();
+                } else {
+                    output.append(line).append(System.lineSeparator());
+                }
+            }
+        }
+        assertThat(process.waitFor(2, TimeUnit.MINUTES)).isTrue();
+        assertThat(result).as("probe output on %s:%n%s", jar, output).isNotNull();
+        return result;
+    }
+
+    private static void writeBaseline(final Path file, final Map<String, Long> measured) throws IOException {
+        final Properties baseline = new Properties();
+        measured.forEach((name, value) -> baseline.setProperty(name, Long.toString(value)));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            baseline.store(out, "Shaded jar footprint, written by JarFootprintBenchmark");
+        }
+    }
+
+    private static long median(final List<long[]> results, final int column) {
+        final List<Long> values = new ArrayList<>();
+        for (long[] result : results) {
+            values.add(result[column]);
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
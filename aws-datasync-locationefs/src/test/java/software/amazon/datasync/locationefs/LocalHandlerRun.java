@@ -0,0 +1,123 @@
+package software.amazon.datasync.locationefs;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.crac.Core;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the Read and List handlers once, in a fresh JVM, against a local stand-in for the DataSync
+ * endpoint. The {@code appcds} build profile uses it as the training run for the class-data-sharing
+ * archive, and {@link ColdStartBenchmark} uses it to time the first Read.
+ *
+ * <p>Pass {@code primed} as the first argument to run {@link HandlerPrimer} first, or {@code checkpoint}
+ * to take a checkpoint before the stand-in starts and run the handlers after restore. On a JVM with
+ * checkpoint support, started with {@code -XX:CRaCCheckpointTo}, the process exits at the checkpoint and
+ * the result is printed by the restored process; elsewhere the checkpoint hooks are called directly.
+ * On success a single line is printed: the {@link #RESULT_PREFIX} followed by the priming time, the
+ * first Read latency, the time from JVM start to the first Read response (all in milliseconds) and the
+ * number of loaded classes. After a restore, JVM start is that of the process that took the checkpoint.
+ */
+public class LocalHandlerRun {
+    static final String RESULT_PREFIX = "LOCAL_RUN_RESULT ";
+
+    private static final String RESOURCE_ARN = "arn:aws:datasync:us-east-1:123456789012:location/loc-01234567890123456";
+
+    // One body answers every operation; fields an operation does not define are ignored by the client.
+    private static final byte[] RESPONSE = ("{"
+            + "\"TaskArn\":\"" + RESOURCE_ARN + "\","
+            + "\"LocationArn\":\"" + RESOURCE_ARN + "\","
+            + "\"AgentArn\":\"" + RESOURCE_ARN + "\","
+            + "\"StorageSystemArn\":\"" + RESOURCE_ARN + "\","
+            + "\"Status\":\"AVAILABLE\","
+            + "\"SystemType\":\"NetAppONTAP\","
+            + "\"ConnectivityStatus\":\"PASS\","
+            + "\"Tags\":[]"
+            + "}").getBytes(StandardCharsets.UTF_8);
+
+    public static void main(final String[] args) throws IOException {
+        final String mode = args.length > 0 ? args[0] : "";
+        // A checkpoint cannot be taken with the stand-in's listening socket open.
+        if ("checkpoint".equals(mode)) {
+            checkpoint();
+        }
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", LocalHandlerRun::respond);
+        server.start();
+        try {
+            System.setProperty("datasync.endpointOverride", "http://localhost:" + server.getAddress().getPort());
+
+            final long primeStart = System.nanoTime();
+            if ("primed".equals(mode)) {
+                HandlerPrimer.prime(true);
+            }
+            final long primeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - primeStart);
+
+            final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+                    new LoggerProxy(), new Credentials("akid", "secret", "token"), () -> TimeUnit.MINUTES.toMillis(1));
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .region("us-east-1")
+                    .desiredResourceState(ResourceModel.builder().locationArn(RESOURCE_ARN).build())
+                    .build();
+
+            final long readStart = System.nanoTime();
+            check(new ReadHandler().handleRequest(proxy, request, null, new LoggerProxy()));
+            final long readEnd = System.nanoTime();
+            final long sinceJvmStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+            check(new ListHandler().handleRequest(proxy, request, null, new LoggerProxy()));
+
+            System.out.println(RESULT_PREFIX + primeMillis
+                    + " " + TimeUnit.NANOSECONDS.toMillis(readEnd - readStart)
+                    + " " + sinceJvmStart
+                    + " " + ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount());
+        } finally {
+            server.stop(0);
+            ClientBuilder.closeClient();
+        }
+        System.exit(0);
+    }
+
+    private static void checkpoint() {
+        try {
+            Core.checkpointRestore();
+        } catch (Exception e) {
+            final CheckpointHooks hooks = new CheckpointHooks();
+            hooks.beforeCheckpoint(null);
+            hooks.afterRestore(null);
+        }
+    }
+
+    private static void check(final ProgressEvent<ResourceModel, CallbackContext> response) {
+        if (response.getStatus() != OperationStatus.SUCCESS) {
+            throw new IllegalStateException("Handler failed: " + response.getMessage());
+        }
+    }
+
+    static void respond(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[4096];
+            while (body.read(buffer) != -1) {
+                // drain the request so the connection can be reused
+            }
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.1");
+        exchange.sendResponseHeaders(200, RESPONSE.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(RESPONSE);
+        }
+    }
+}
@@ -1,17 +1,97 @@
 package software.amazon.datasync.locationfsxlustre;
 
-import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.AccessLevel;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.awssdk.services.datasync.DataSyncClientBuilder;
 import software.amazon.cloudformation.LambdaWrapper;
 
+import java.net.URI;
+
+/**
+ * Hands out DataSync clients from a pool shared by every handler invocation in a warm container.
+ * Building a client resolves endpoints and wires up marshallers and signers, so one client is
+ * built per region (and endpoint override) and then reused, including across nested
+ * Create -> Read and Update -> Read chains. Every client retries and paces its calls as
+ * {@link AdaptiveRetry} describes, sharing one rate limit across the container.
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ClientBuilder {
+    private static final int DEFAULT_POOL_SIZE = 8;
+
+    // Shared by every pooled client; see HttpTransportProfile for the available transports.
+    private static final HttpTransportProfile HTTP_TRANSPORT = HttpTransportProfile.fromSettings();
+    private static volatile SdkHttpClient httpClient = HTTP_TRANSPORT.buildHttpClient();
+
+    private static final DataSyncClientPool<DataSyncClient> POOL = new DataSyncClientPool<>(
+            HandlerSettings.getInt("clientPoolSize", DEFAULT_POOL_SIZE), ClientBuilder::buildClient);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ClientBuilder::closeClient, "datasync-client-shutdown"));
+    }
 
     public static DataSyncClient getClient() {
-        return DataSyncClient.builder()
-                .httpClient(LambdaWrapper.HTTP_CLIENT)
-                .build();
+        return getClient(null);
+    }
+
+    /**
+     * @param region the region of the handler request, or null to use the default region provider chain
+     * @return the pooled client for the region and the configured endpoint override
+     */
+    public static DataSyncClient getClient(final String region) {
+        return POOL.acquire(region, HandlerSettings.getString("endpointOverride"));
+    }
+
+    public static DataSyncClientPool<DataSyncClient> getPool() {
+        return POOL;
+    }
+
+    // The HTTP client shared by every pooled client.
+    static SdkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Close every pooled client. The next call to {@link #getClient(String)} builds a fresh client.
+     * The shared HTTP client is left open.
+     */
+    public static void closeClient() {
+        POOL.clear();
+    }
+
+    /**
+     * Close every pooled client and replace the shared HTTP client, so that no pooled connection is
+     * kept. Clients are rebuilt on next use. The wrapper's HTTP client is owned by the wrapper and
+     * cannot be closed, so from the first reset the clients use one of the handler's own instead; see
+     * {@link HttpTransportProfile#buildOwnedHttpClient}.
+     */
+    static synchronized void resetConnections() {
+        closeClient();
+        final SdkHttpClient previous = httpClient;
+        httpClient = HTTP_TRANSPORT.buildOwnedHttpClient();
+        if (previous != LambdaWrapper.HTTP_CLIENT) {
+            previous.close();
+        }
+    }
+
+    // Visible for testing: replaces the client used for requests without a region.
+    static void setClient(final DataSyncClient dataSyncClient) {
+        POOL.put(null, HandlerSettings.getString("endpointOverride"), dataSyncClient);
+    }
+
+    private static DataSyncClient buildClient(final DataSyncClientPool.Key key) {
+        final DataSyncClientBuilder builder = DataSyncClient.builder()
+                .httpClient(httpClient)
+                .overrideConfiguration(AdaptiveRetry::configure);
+        if (key.getRegion() != null) {
+            builder.region(Region.of(key.getRegion()));
+        }
+        if (key.getEndpointOverride() != null) {
+            builder.endpointOverride(URI.create(key.getEndpointOverride()));
+        }
+        return builder.build();
     }
 
 }
@@ -0,0 +1,138 @@
+package software.amazon.datasync.locationfsxlustre;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reads every resource of a List page in full when the {@code listEnriched} setting is true, so that tooling
+ * taking an inventory gets complete models without a Read invocation per resource. The reads run on a pool of
+ * {@code listEnrichConcurrency} daemon threads (default 4) shared by the container, and they start at most
+ * {@code listEnrichRate} times a second (default 20, and 0 for no limit), so a large page neither runs the
+ * function out of threads nor uses up the account's DataSync request rate. A read may itself fan out on
+ * {@link HandlerExecutor}, which is why it does not run there.
+ *
+ * <p>A resource that could not be read is listed as the List call returned it, and the page's message names
+ * it, so that one failure does not fail the page. A resource deleted since it was listed is left out.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ListEnricher {
+    private static final int DEFAULT_CONCURRENCY = 4;
+    private static final int DEFAULT_RATE = 20;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(1, HandlerSettings.getInt("listEnrichConcurrency", DEFAULT_CONCURRENCY)),
+            new DaemonThreadFactory());
+    // The System.nanoTime() before which no further read may start, guarded by the class lock.
+    private static long nextStartNanos = System.nanoTime();
+
+    static boolean isEnabled() {
+        return HandlerSettings.getBoolean("listEnriched", false);
+    }
+
+    /**
+     * @return a Read request for the listed resource, in the account and region being listed
+     */
+    static ResourceHandlerRequest<ResourceModel> toReadRequest(
+            final ResourceHandlerRequest<ResourceModel> listRequest,
+            final ResourceModel listed) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(listRequest.getAwsAccountId())
+                .region(listRequest.getRegion())
+                .desiredResourceState(listed)
+                .build();
+    }
+
+    /**
+     * Read each listed resource, waiting for all of the reads.
+     *
+     * @param listed the models the List call returned
+     * @param arnOf the ARN of a model
+     * @param read reads the full model of a listed one
+     * @param logger logs the resources that could not be read
+     * @return the models read, in the order listed
+     */
+    static Page enrich(
+            final List<ResourceModel> listed,
+            final Function<ResourceModel, String> arnOf,
+            final UnaryOperator<ResourceModel> read,
+            final Logger logger) {
+        final List<CompletableFuture<ResourceModel>> reads = new ArrayList<>(listed.size());
+        for (ResourceModel model : listed) {
+            reads.add(CompletableFuture.supplyAsync(() -> {
+                awaitRate();
+                return read.apply(model);
+            }, EXECUTOR));
+        }
+
+        final List<ResourceModel> models = new ArrayList<>(listed.size());
+        final List<String> failures = new ArrayList<>();
+        for (int i = 0; i < listed.size(); i++) {
+            try {
+                models.add(HandlerExecutor.join(reads.get(i)));
+            } catch (CfnNotFoundException e) {
+                // Deleted since it was listed.
+            } catch (RuntimeException e) {
+                final String arn = arnOf.apply(listed.get(i));
+                logger.log(String.format("%s %s could not be read: %s", ResourceModel.TYPE_NAME, arn, e.getMessage()));
+                models.add(listed.get(i));
+                failures.add(arn + ": " + e.getMessage());
+            }
+        }
+        return new Page(models, failures.isEmpty() ? null : String.format(
+                "%d of %d resources are listed without their full model. %s",
+                failures.size(), listed.size(), String.join("; ", failures)));
+    }
+
+    // Space the starts of the reads so that no more than the rate start in any second.
+    private static void awaitRate() {
+        final int rate = HandlerSettings.getInt("listEnrichRate", DEFAULT_RATE);
+        if (rate <= 0) {
+            return;
+        }
+        final long start;
+        synchronized (ListEnricher.class) {
+            start = Math.max(System.nanoTime(), nextStartNanos);
+            nextStartNanos = start + TimeUnit.SECONDS.toNanos(1) / rate;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(start - System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    @Value
+    static class Page {
+        List<ResourceModel> models;
+        // Names the resources listed without their full model, or null when every one was read.
+        String message;
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "datasync-list-enrich-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package software.amazon.datasync.locationfsxlustre;
+
+import lombok.Value;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of recent reads for warm containers, keyed by account and resource ARN, which holds the
+ * Describe response and the user tags of each resource. CloudFormation reads the same resources many times
+ * within seconds during stack updates and drift checks, and a hit answers those reads without calling
+ * DataSync.
+ *
+ * <p>Entries live for the {@code readCacheTtl} setting in milliseconds, and at most {@code readCacheSize}
+ * entries (default 256) are kept in least-recently-used order. The TTL defaults to 0, which switches the cache
+ * off: an entry is served to every caller of the account in the container, whatever credentials the read was
+ * made with, so only functions that serve a single caller should turn it on. Handlers that change a resource
+ * {@link #invalidate} it once their changes are made; a read that was under way at the time is then not cached,
+ * so it cannot put back what the change replaced.
+ *
+ * <p>Reads of the same resource that miss at the same time share one load: the first one calls DataSync and
+ * the others wait for its result or exception, so a burst of identical reads costs one Describe and one
+ * ListTagsForResource. This holds with the cache switched off as well. It shares results between callers
+ * just as the cache does, so it is off unless the {@code coalesceReads} setting turns it on. A read that starts
+ * after an invalidation does not join a load that started before it.
+ *
+ * <p>Resources that were deleted, or that a read found missing, can be remembered for the {@code tombstoneTtl}
+ * setting in milliseconds, up to {@code readCacheSize} of them, and reads of them then fail with
+ * {@link CfnNotFoundException} without calling DataSync, as the reads CloudFormation makes after a delete
+ * would. Once the tombstone expires the next read asks DataSync again, and a resource still missing is
+ * remembered anew. The TTL defaults to 0, which switches tombstones off. {@link #invalidate} drops the
+ * tombstone as well, so a resource created again under the same ARN is read from DataSync.
+ *
+ * @param <R> the Describe response type
+ */
+public class ReadCache<R> {
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+    private static final long DEFAULT_TTL_MILLIS = 0;
+    private static final long DEFAULT_TOMBSTONE_TTL_MILLIS = 0;
+
+    private final int maxEntries;
+    private final LongSupplier ttlMillis;
+    private final BooleanSupplier coalescing;
+    private final LongSupplier tombstoneTtlMillis;
+    // All guarded by the entries lock, as is the invalidation count.
+    private final LinkedHashMap<Key, Entry<R>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, CompletableFuture<Entry<R>>> inFlight = new HashMap<>();
+    // The expiry, in System.nanoTime() terms, of each tombstone.
+    private final LinkedHashMap<Key, Long> tombstones = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidations;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong tombstoneHits = new AtomicLong();
+
+    ReadCache(final int maxEntries, final LongSupplier ttlMillis) {
+        this(maxEntries, ttlMillis, () -> true, () -> 0);
+    }
+
+    ReadCache(
+            final int maxEntries,
+            final LongSupplier ttlMillis,
+            final BooleanSupplier coalescing,
+            final LongSupplier tombstoneTtlMillis) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.coalescing = coalescing;
+        this.tombstoneTtlMillis = tombstoneTtlMillis;
+    }
+
+    /**
+     * @return a cache sized by the handler settings, whose TTLs and coalescing are read on each use so they
+     *         can be changed
+     */
+    static <R> ReadCache<R> fromSettings() {
+        return new ReadCache<>(HandlerSettings.getInt("readCacheSize", DEFAULT_MAX_ENTRIES),
+                () -> HandlerSettings.getLong("readCacheTtl", DEFAULT_TTL_MILLIS),
+                () -> HandlerSettings.getBoolean("coalesceReads", false),
+                () -> HandlerSettings.getLong("tombstoneTtl", DEFAULT_TOMBSTONE_TTL_MILLIS));
+    }
+
+    /**
+     * Return the cached read of the resource, loading and caching it on a miss, or waiting for the load
+     * already under way. Exceptions thrown by the loader are passed on to every caller sharing the load,
+     * and nothing is cached for them, but a {@link CfnNotFoundException} leaves a tombstone.
+     *
+     * @param accountId the account that owns the resource
+     * @param resourceArn the ARN of the resource
+     * @param loader reads the resource from DataSync
+     * @return the cached or loaded read
+     * @throws CfnNotFoundException if the resource has a tombstone
+     */
+    public Entry<R> get(final String accountId, final String resourceArn, final Supplier<Entry<R>> loader) {
+        final Key key = new Key(accountId, resourceArn);
+        final long ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis.getAsLong());
+        final boolean coalesce = coalescing.getAsBoolean();
+        if (ttlNanos <= 0 && !coalesce && !usesTombstones()) {
+            return loader.get();
+        }
+
+        final CompletableFuture<Entry<R>> flight;
+        final CompletableFuture<Entry<R>> running;
+        final long stamp;
+        synchronized (entries) {
+            if (isTombstoned(key)) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn);
+            }
+            final Entry<R> cached = lookup(key, ttlNanos);
+            if (cached != null) {
+                return cached;
+            }
+            flight = new CompletableFuture<>();
+            running = coalesce ? inFlight.putIfAbsent(key, flight) : null;
+            stamp = invalidations;
+        }
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return HandlerExecutor.join(running);
+        }
+
+        final Entry<R> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException | Error e) {
+            land(key, flight, stamp, ttlNanos, null, e);
+            throw e;
+        }
+        land(key, flight, stamp, ttlNanos, loaded, null);
+        return loaded;
+    }
+
+    /**
+     * Non-blocking {@link #get}: a hit completes at once, a miss is cached when the loader completes, and a
+     * read of a resource already being loaded completes with that load.
+     */
+    public CompletableFuture<Entry<R>> getAsync(
+            final String accountId,
+            final String resourceArn,
+            final Supplier<CompletableFuture<Entry<R>>> loader) {
+        final Key key = new Key(accountId, resourceArn);
+        final long ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis.getAsLong());
+        final boolean coalesce = coalescing.getAsBoolean();
+        if (ttlNanos <= 0 && !coalesce && !usesTombstones()) {
+            return loader.get();
+        }
+
+        final CompletableFuture<Entry<R>> flight;
+        final CompletableFuture<Entry<R>> running;
+        final long stamp;
+        synchronized (entries) {
+            if (isTombstoned(key)) {
+                final CompletableFuture<Entry<R>> notFound = new CompletableFuture<>();
+                notFound.completeExceptionally(new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn));
+                return notFound;
+            }
+            final Entry<R> cached = lookup(key, ttlNanos);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            flight = new CompletableFuture<>();
+            running = coalesce ? inFlight.putIfAbsent(key, flight) : null;
+            stamp = invalidations;
+        }
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return running;
+        }
+
+        final CompletableFuture<Entry<R>> loading;
+        try {
+            loading = loader.get();
+        } catch (RuntimeException | Error e) {
+            land(key, flight, stamp, ttlNanos, null, e);
+            throw e;
+        }
+        loading.whenComplete((loaded, failure) -> land(key, flight, stamp, ttlNanos, loaded, failure));
+        return flight;
+    }
+
+    /**
+     * Drop the cached read and any tombstone of a resource that has been created, changed or deleted.
+     */
+    public void invalidate(final String accountId, final String resourceArn) {
+        final Key key = new Key(accountId, resourceArn);
+        synchronized (entries) {
+            invalidations++;
+            entries.remove(key);
+            // Later reads start a load of their own rather than wait for one that may predate the change.
+            inFlight.remove(key);
+            tombstones.remove(key);
+        }
+    }
+
+    /**
+     * Drop the cached read of a resource that has been deleted, or found already gone, and leave a tombstone
+     * so that reads of it fail without calling DataSync.
+     */
+    public void markDeleted(final String accountId, final String resourceArn) {
+        final Key key = new Key(accountId, resourceArn);
+        synchronized (entries) {
+            invalidations++;
+            entries.remove(key);
+            inFlight.remove(key);
+            addTombstone(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            invalidations++;
+            entries.clear();
+            inFlight.clear();
+            tombstones.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the number of reads that waited for a load already under way instead of calling DataSync
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return the number of reads answered with {@link CfnNotFoundException} from a tombstone
+     */
+    public long getTombstoneHitCount() {
+        return tombstoneHits.get();
+    }
+
+    private boolean usesTombstones() {
+        return tombstoneTtlMillis.getAsLong() > 0;
+    }
+
+    // Called with the entries lock held.
+    private boolean isTombstoned(final Key key) {
+        final Long expiresAtNanos = tombstones.get(key);
+        if (expiresAtNanos == null) {
+            return false;
+        }
+        if (expiresAtNanos - System.nanoTime() > 0) {
+            tombstoneHits.incrementAndGet();
+            return true;
+        }
+        // Expired, so the read goes on to ask DataSync whether the resource is still missing.
+        tombstones.remove(key);
+        return false;
+    }
+
+    // Called with the entries lock held.
+    private void addTombstone(final Key key) {
+        final long ttlNanos = TimeUnit.MILLISECONDS.toNanos(tombstoneTtlMillis.getAsLong());
+        if (ttlNanos <= 0) {
+            return;
+        }
+        tombstones.put(key, System.nanoTime() + ttlNanos);
+        final Iterator<Key> eldest = tombstones.keySet().iterator();
+        while (tombstones.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    // Called with the entries lock held.
+    private Entry<R> lookup(final Key key, final long ttlNanos) {
+        if (ttlNanos <= 0) {
+            return null;
+        }
+        final Entry<R> cached = entries.get(key);
+        if (cached != null && cached.expiresAtNanos - System.nanoTime() > 0) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        if (cached != null) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * End a load: cache its result, or leave a tombstone if it found the resource missing, unless it
+     * overlapped a change, as it may then describe the resource before it. Then pass its result or failure
+     * on to the reads waiting for it.
+     */
+    private void land(
+            final Key key,
+            final CompletableFuture<Entry<R>> flight,
+            final long stamp,
+            final long ttlNanos,
+            final Entry<R> loaded,
+            final Throwable failure) {
+        synchronized (entries) {
+            inFlight.remove(key, flight);
+            if (stamp == invalidations) {
+                if (failure == null && ttlNanos > 0) {
+                    entries.put(key, loaded.expiringAt(System.nanoTime() + ttlNanos));
+                    evictEldest();
+                } else if (isNotFound(failure)) {
+                    addTombstone(key);
+                }
+            }
+        }
+        if (failure == null) {
+            flight.complete(loaded);
+        } else {
+            flight.completeExceptionally(failure);
+        }
+    }
+
+    private static boolean isNotFound(final Throwable failure) {
+        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        return cause instanceof CfnNotFoundException;
+    }
+
+    // Called with the entries lock held.
+    private void evictEldest() {
+        final Iterator<Map.Entry<Key, Entry<R>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return an entry holding a read of the resource
+     */
+    static <R> Entry<R> entry(final R response, final Set<Tag> userTags) {
+        return new Entry<>(response, Collections.unmodifiableMap(TagTranslator.translateTagsToMap(userTags)), 0);
+    }
+
+    @Value
+    static class Key {
+        String accountId;
+        String resourceArn;
+    }
+
+    /**
+     * One read of a resource. The Describe response is immutable, and the tags are copied out on each use,
+     * so callers may change the model they build from it.
+     */
+    public static final class Entry<R> {
+        private final R response;
+        private final Map<String, String> userTags;
+        private final long expiresAtNanos;
+
+        private Entry(final R response, final Map<String, String> userTags, final long expiresAtNanos) {
+            this.response = response;
+            this.userTags = userTags;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        public R getResponse() {
+            return response;
+        }
+
+        public Set<Tag> getUserTags() {
+            return TagTranslator.translateMapToTags(userTags);
+        }
+
+        private Entry<R> expiringAt(final long nanos) {
+            return new Entry<>(response, userTags, nanos);
+        }
+    }
+}
@@ -15,10 +15,10 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
-    private static final String AWS_CFN_TAG_PREFIX = "aws:cloudformation:";
+    static final ReadCache<DescribeLocationFsxLustreResponse> READ_CACHE = ReadCache.fromSettings();
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -27,28 +27,32 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
-
-        final DescribeLocationFsxLustreRequest describeLocationFsxLustreRequest =
-                Translator.translateToReadRequest(model.getLocationArn());
-
-        DescribeLocationFsxLustreResponse response;
+        final InvocationDeadline deadline = InvocationDeadline.start();
         try {
-            response = proxy.injectCredentialsAndInvokeV2(describeLocationFsxLustreRequest, client::describeLocationFsxLustre);
-        } catch (InvalidRequestException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
+            return handleRequest(proxy, request, callbackContext, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            // A Read has to complete within one invocation, so running out of time fails it.
+            throw new CfnServiceInternalErrorException(e.getMessage(), e);
         }
+    }
+
+    /**
+     * Read within the deadline of the calling handler, which handles {@link InvocationDeadline.ExpiredException}.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger,
+            final InvocationDeadline deadline) {
 
-        // Current tags are not supplied by the Describe call and must be retrieved separately
-        final Set<Tag> allTags = TagRequestMaker.listTagsForResource(proxy, client, model.getLocationArn());
-        final Set<Tag> userTags = allTags.stream()
-                .filter(tag -> !tag.getKey().startsWith(AWS_CFN_TAG_PREFIX)) // Filter our system tags on the user tags
-                .collect(Collectors.toSet());
+        final ResourceModel model = request.getDesiredResourceState();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
+
+        final ReadCache.Entry<DescribeLocationFsxLustreResponse> read = READ_CACHE.get(
+                request.getAwsAccountId(), model.getLocationArn(), () -> describeWithTags(proxy, client, model, deadline));
+        final DescribeLocationFsxLustreResponse response = read.getResponse();
+        final Set<Tag> userTags = read.getUserTags();
 
         ResourceModel returnModel = ResourceModel.builder()
                 .locationArn(response.locationArn())
@@ -62,4 +66,36 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 .status(OperationStatus.SUCCESS)
                 .build();
     }
+
+    /**
+     * Describe the resource and list its user tags.
+     */
+    private static ReadCache.Entry<DescribeLocationFsxLustreResponse> describeWithTags(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final ResourceModel model,
+            final InvocationDeadline deadline) {
+
+        final DescribeLocationFsxLustreRequest describeLocationFsxLustreRequest =
+                Translator.translateToReadRequest(model.getLocationArn());
+
+        // Current tags are not supplied by the Describe call and must be retrieved separately. The two
+        // calls only need the ARN, so they run at once.
+        final CompletableFuture<DescribeLocationFsxLustreResponse> describe = HandlerExecutor.supplyAsync(() -> {
+            try {
+                return deadline.invoke(proxy, describeLocationFsxLustreRequest, client::describeLocationFsxLustre);
+            } catch (InvalidRequestException e) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
+            } catch (InternalException e) {
+                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+            } catch (DataSyncException e) {
+                throw Translator.translateDataSyncExceptionToCfnException(e);
+            }
+        });
+        final CompletableFuture<Set<Tag>> tags = HandlerExecutor.supplyAsync(
+                () -> TagRequestMaker.listUserTagsForResource(proxy, client, model.getLocationArn(), deadline));
+
+        HandlerExecutor.joinBoth(describe, tags);
+        return ReadCache.entry(HandlerExecutor.join(describe), HandlerExecutor.join(tags));
+    }
 }
@@ -8,6 +8,9 @@ import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import java.util.Map;
 
 public class Translator {
+    // The scheme of the URIs of this module's locations.
+    static final String LOCATION_URI_PREFIX = "fsxl://";
+
 
     Translator() {}
 
@@ -32,8 +35,17 @@ public class Translator {
                 .build();
     }
 
+    /**
+     * @return a request for the page of the token, filtered on DataSync to the locations of this module; the
+     *         ListHandler still checks the URI of each location listed
+     */
     public static ListLocationsRequest translateToListRequest(final String nextToken) {
         return ListLocationsRequest.builder()
+                .filters(LocationFilter.builder()
+                        .name(LocationFilterName.LOCATION_URI)
+                        .operator(Operator.BEGINS_WITH)
+                        .values(LOCATION_URI_PREFIX)
+                        .build())
                 .nextToken(nextToken)
                 .build();
     }
@@ -9,16 +9,23 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.AfterEach;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -26,6 +33,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class CreateHandlerTest {
@@ -42,6 +51,12 @@ public class CreateHandlerTest {
         logger = mock(Logger.class);
     }
 
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty("datasync.createWriteThrough");
+        ClientBuilder.closeClient();
+    }
+
     @Test
     public void handleRequest_SimpleSuccess() {
         final CreateHandler handler = new CreateHandler();
@@ -92,6 +107,90 @@ public class CreateHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_CreateThenReadSharesClient() {
+        final CreateHandler handler = new CreateHandler();
+        final DataSyncClient client = mock(DataSyncClient.class);
+        ClientBuilder.setClient(client);
+        doAnswer(invocation -> {
+            final Function<AwsRequest, AwsResponse> call = invocation.getArgument(1);
+            return call.apply(invocation.getArgument(0));
+        }).when(proxy).injectCredentialsAndInvokeV2(any(), any());
+
+        final CreateLocationFsxLustreResponse createLocationFsxLustreResponse =
+                CreateLocationFsxLustreResponse.builder().build();
+
+        final DescribeLocationFsxLustreResponse describeLocationFsxLustreResponse =
+                DescribeLocationFsxLustreResponse.builder().build();
+
+        final ListTagsForResourceResponse listTagsForResourceResponse =
+                TagTestResources.buildTagsWithSystemTagResponse();
+
+        doReturn(createLocationFsxLustreResponse).when(client).createLocationFsxLustre(any(CreateLocationFsxLustreRequest.class));
+
+        doReturn(describeLocationFsxLustreResponse).when(client).describeLocationFsxLustre(any(DescribeLocationFsxLustreRequest.class));
+
+        doReturn(listTagsForResourceResponse).when(client).listTagsForResource(any(ListTagsForResourceRequest.class));
+
+        final ResourceModel model = buildDefaultModel();
+
+        Map<String, String> mockSystemTag = new HashMap<String, String>() {{
+            put("aws:cloudformation:stackid", "123");
+        }};
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .desiredResourceTags(TagTranslator.translateTagsToMap(TagTestResources.defaultTags))
+                .systemTags(mockSystemTag)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(client).createLocationFsxLustre(any(CreateLocationFsxLustreRequest.class));
+        verify(client).describeLocationFsxLustre(any(DescribeLocationFsxLustreRequest.class));
+        verify(client).listTagsForResource(any(ListTagsForResourceRequest.class));
+        assertThat(ClientBuilder.getClient()).isSameAs(client);
+    }
+
+    @Test
+    public void handleRequest_WriteThrough_CreatesAndDescribesOnly() {
+        System.setProperty("datasync.createWriteThrough", "true");
+        final CreateHandler handler = new CreateHandler();
+        final String locationArn = "arn:aws:datasync:us-east-1:123456789012:location/loc-01234567890123456";
+        final List<Class<?>> calls = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            final Object call = invocation.getArgument(0);
+            calls.add(call.getClass());
+            if (call instanceof CreateLocationFsxLustreRequest) {
+                return CreateLocationFsxLustreResponse.builder().locationArn(locationArn).build();
+            }
+            return DescribeLocationFsxLustreResponse.builder()
+                    .locationArn(locationArn)
+                    .locationUri("fsxl://us-east-1.fs-01234567/")
+                    .build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(), any());
+
+        final ResourceModel model = buildDefaultModel();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .desiredResourceTags(TagTranslator.translateTagsToMap(TagTestResources.defaultTags))
+                .systemTags(Collections.singletonMap("aws:cloudformation:stackid", "123"))
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(calls).containsExactly(CreateLocationFsxLustreRequest.class, DescribeLocationFsxLustreRequest.class);
+        assertThat(response.getResourceModel().getLocationArn()).isEqualTo(locationArn);
+        assertThat(response.getResourceModel().getLocationUri()).isEqualTo("fsxl://us-east-1.fs-01234567/");
+        assertThat(response.getResourceModel().getSecurityGroupArns()).isEqualTo(model.getSecurityGroupArns());
+        assertThat(response.getResourceModel().getTags()).isEqualTo(TagTestResources.defaultTags);
+    }
+
     @Test
     public void handleRequest_InvalidSystemTagRequest() {
         final CreateHandler handler = new CreateHandler();
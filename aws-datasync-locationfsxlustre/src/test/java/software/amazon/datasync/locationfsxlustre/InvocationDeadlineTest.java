@@ -0,0 +1,211 @@
+package software.amazon.datasync.locationfsxlustre;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.datasync.model.DescribeLocationFsxLustreRequest;
+import software.amazon.awssdk.services.datasync.model.DescribeLocationFsxLustreResponse;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class InvocationDeadlineTest {
+    private static final String REGION = "us-east-1";
+    private static final String RESOURCE_ARN = "arn:aws:datasync:us-east-1:123456789012:location/loc-01234567890123456";
+    private static final long BUDGET_MILLIS = 3_000;
+    private static final long SAFETY_MARGIN_MILLIS = 1_000;
+    private static final long SLOW_CALL_MILLIS = 10_000;
+
+    private final List<String> operations = new CopyOnWriteArrayList<>();
+    // Slow calls are held until the test is over, so none of them has been answered while a test runs.
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger answered = new AtomicInteger();
+    private volatile boolean slow;
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            operations.add(exchange.getRequestHeaders().getFirst("X-Amz-Target"));
+            if (slow) {
+                try {
+                    release.await(SLOW_CALL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            answered.incrementAndGet();
+            LocalHandlerRun.respond(exchange);
+        });
+        server.start();
+        System.setProperty("datasync.endpointOverride", "http://localhost:" + server.getAddress().getPort());
+        System.setProperty("datasync.invocationBudget", Long.toString(BUDGET_MILLIS));
+        System.setProperty("datasync.deadlineSafetyMargin", Long.toString(SAFETY_MARGIN_MILLIS));
+        ClientBuilder.closeClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        System.clearProperty("datasync.endpointOverride");
+        System.clearProperty("datasync.invocationBudget");
+        System.clearProperty("datasync.deadlineSafetyMargin");
+        InvocationDeadline.invocationEnded();
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void start_LambdaTimeLeft_BoundsBudget() {
+        InvocationDeadline.invocationStarted(SAFETY_MARGIN_MILLIS);
+
+        assertThat(InvocationDeadline.start().remainingMillis()).isLessThanOrEqualTo(SAFETY_MARGIN_MILLIS);
+    }
+
+    @Test
+    public void start_LambdaTimeLeftBeyondBudget_KeepsBudget() {
+        InvocationDeadline.invocationStarted(TimeUnit.MINUTES.toMillis(15));
+
+        assertThat(InvocationDeadline.start().remainingMillis()).isLessThanOrEqualTo(BUDGET_MILLIS);
+    }
+
+    @Test
+    public void invoke_AddsTimeoutsToProxiedRequest() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        // Stand in for the proxy, which replaces the override configuration with one carrying credentials.
+        doAnswer(invocation -> {
+            final DescribeLocationFsxLustreRequest request = invocation.getArgument(0);
+            final Function<DescribeLocationFsxLustreRequest, DescribeLocationFsxLustreResponse> call = invocation.getArgument(1);
+            return call.apply(request.toBuilder()
+                    .overrideConfiguration(configuration -> configuration.putHeader("x-proxy", "credentials"))
+                    .build());
+        }).when(proxy).injectCredentialsAndInvokeV2(any(), any());
+
+        final AtomicReference<DescribeLocationFsxLustreRequest> sent = new AtomicReference<>();
+        new InvocationDeadline(BUDGET_MILLIS, SAFETY_MARGIN_MILLIS, 500).invoke(proxy,
+                DescribeLocationFsxLustreRequest.builder().locationArn(RESOURCE_ARN).build(),
+                request -> {
+                    sent.set(request);
+                    return DescribeLocationFsxLustreResponse.builder().build();
+                });
+
+        assertThat(sent.get().overrideConfiguration()).isPresent();
+        assertThat(sent.get().overrideConfiguration().get().headers()).containsKey("x-proxy");
+        assertThat(sent.get().overrideConfiguration().get().apiCallTimeout().get())
+                .isLessThanOrEqualTo(Duration.ofMillis(BUDGET_MILLIS - SAFETY_MARGIN_MILLIS));
+        assertThat(sent.get().overrideConfiguration().get().apiCallAttemptTimeout()).contains(Duration.ofMillis(500));
+    }
+
+    @Test
+    public void invoke_WithinSafetyMargin_DoesNotCall() {
+        final InvocationDeadline deadline = new InvocationDeadline(SAFETY_MARGIN_MILLIS - 1, SAFETY_MARGIN_MILLIS, 500);
+
+        final InvocationDeadline.ExpiredException e = assertThrows(InvocationDeadline.ExpiredException.class,
+                () -> deadline.invoke(proxy(), DescribeLocationFsxLustreRequest.builder().locationArn(RESOURCE_ARN).build(),
+                        ClientBuilder.getClient(REGION)::describeLocationFsxLustre));
+
+        assertThat(e.isCallStarted()).isFalse();
+        assertThat(e.getMessage()).startsWith("DescribeLocationFsxLustre");
+        assertThat(operations).isEmpty();
+    }
+
+    @Test
+    public void invoke_SlowCall_TimesOutBeforeSafetyMargin() {
+        slow = true;
+        final InvocationDeadline deadline = new InvocationDeadline(BUDGET_MILLIS, SAFETY_MARGIN_MILLIS, SLOW_CALL_MILLIS);
+
+        final InvocationDeadline.ExpiredException e = assertThrows(InvocationDeadline.ExpiredException.class,
+                () -> deadline.invoke(proxy(), DescribeLocationFsxLustreRequest.builder().locationArn(RESOURCE_ARN).build(),
+                        ClientBuilder.getClient(REGION)::describeLocationFsxLustre));
+
+        assertThat(e.isCallStarted()).isTrue();
+        assertThat(answered.get()).isZero();
+    }
+
+    @Test
+    public void read_SlowCall_FailsWithinBudget() {
+        slow = true;
+
+        assertThrows(CfnServiceInternalErrorException.class,
+                () -> new ReadHandler().handleRequest(proxy(), request(), null, new LoggerProxy()));
+
+        assertThat(answered.get()).isZero();
+    }
+
+    @Test
+    public void update_SlowCall_ReturnsInProgress() {
+        slow = true;
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new UpdateHandler().handleRequest(proxy(), request(), null, new LoggerProxy());
+
+        assertThat(answered.get()).isZero();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext()).isNotNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(1);
+        assertThat(response.getResourceModel().getLocationArn()).isEqualTo(RESOURCE_ARN);
+    }
+
+    @Test
+    public void create_CalledBackWithArn_ReadsWithoutCreating() {
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new CreateHandler().handleRequest(proxy(), request(), new CallbackContext(), new LoggerProxy());
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getLocationArn()).isEqualTo(RESOURCE_ARN);
+        assertThat(operations).noneMatch(operation -> operation.contains(".Create") || operation.contains(".TagResource"));
+    }
+
+    @Test
+    public void create_CalledBackOutOfTime_ReturnsInProgressAgain() {
+        System.setProperty("datasync.invocationBudget", "0");
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new CreateHandler().handleRequest(proxy(), request(), new CallbackContext(), new LoggerProxy());
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getResourceModel().getLocationArn()).isEqualTo(RESOURCE_ARN);
+        assertThat(operations).isEmpty();
+    }
+
+    private static AmazonWebServicesClientProxy proxy() {
+        return new AmazonWebServicesClientProxy(
+                new LoggerProxy(), new Credentials("akid", "secret", "token"), () -> TimeUnit.MINUTES.toMillis(1));
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .region(REGION)
+                .desiredResourceState(ResourceModel.builder().locationArn(RESOURCE_ARN).build())
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package software.amazon.datasync.locationfsxlustre;
+
+import software.amazon.awssdk.services.datasync.model.ListLocationsRequest;
+import software.amazon.awssdk.services.datasync.model.ListLocationsResponse;
+import software.amazon.awssdk.services.datasync.model.LocationFilter;
+import software.amazon.awssdk.services.datasync.model.LocationFilterName;
+import software.amazon.awssdk.services.datasync.model.LocationListEntry;
+import software.amazon.awssdk.services.datasync.model.Operator;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Lists this module's locations in an account of {@code benchmark.locations} locations (default 50000) spread
+ * evenly over the location types, behind a stand-in for DataSync that serves ListLocations in pages of 100, as
+ * the service does when no MaxResults is given. The stand-in runs once applying the Filters the handler sends,
+ * and once ignoring them, as a listing that filtered only on the handler did. For each it reports the handler
+ * invocations CloudFormation would make, how many of them returned no locations, the ListLocations calls and
+ * the elapsed time. Not part of the default test run; run it with
+ * {@code mvn test -Dtest=LocationListingBenchmark}, optionally with {@code -Dbenchmark.locations} and
+ * {@code -Dbenchmark.callLatencyMillis}.
+ */
+public class LocationListingBenchmark {
+    private static final int LOCATIONS = Integer.getInteger("benchmark.locations", 50_000);
+    private static final long CALL_LATENCY_MILLIS = Long.getLong("benchmark.callLatencyMillis", 0);
+    private static final int PAGE_SIZE = 100;
+    private static final String[] URI_PREFIXES = {
+            "efs://", "fsxl://", "fsxz://", "fsxw://", "hdfs://", "nfs://", "object-storage://", "s3://", "smb://"};
+
+    private final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+    private final Logger logger = mock(Logger.class);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void compareListing() {
+        final List<LocationListEntry> inventory = buildInventory();
+        System.out.println(String.format("%d locations, listing %s, call latency %d ms",
+                inventory.size(), Translator.LOCATION_URI_PREFIX, CALL_LATENCY_MILLIS));
+        System.out.println(String.format("%-12s %12s %12s %10s %10s %10s",
+                "filtering", "invocations", "empty pages", "calls", "listed", "time (ms)"));
+
+        final int unfiltered = run("handler", inventory, false);
+        final int filtered = run("DataSync", inventory, true);
+
+        assertThat(filtered).isLessThan(unfiltered);
+    }
+
+    private static List<LocationListEntry> buildInventory() {
+        final List<LocationListEntry> inventory = new ArrayList<>(LOCATIONS);
+        for (int i = 0; i < LOCATIONS; i++) {
+            inventory.add(LocationListEntry.builder()
+                    .locationArn(String.format("arn:aws:datasync:us-east-1:123456789012:location/loc-%017d", i))
+                    .locationUri(URI_PREFIXES[i % URI_PREFIXES.length] + "host-" + i + "/path/")
+                    .build());
+        }
+        return inventory;
+    }
+
+    /**
+     * List every page as CloudFormation would, invoking the handler with the token of the page before.
+     *
+     * @return the number of ListLocations calls made
+     */
+    private int run(final String label, final List<LocationListEntry> inventory, final boolean applyFilters) {
+        serve(inventory, applyFilters);
+        calls.set(0);
+
+        int invocations = 0;
+        int emptyPages = 0;
+        long listed = 0;
+        String nextToken = null;
+        final long begin = System.nanoTime();
+        do {
+            final ProgressEvent<ResourceModel, CallbackContext> page = new ListHandler().handleRequest(proxy,
+                    ResourceHandlerRequest.<ResourceModel>builder()
+                            .region("us-east-1")
+                            .awsAccountId("123456789012")
+                            .nextToken(nextToken)
+                            .build(),
+                    null, logger);
+            invocations++;
+            if (page.getResourceModels().isEmpty()) {
+                emptyPages++;
+            }
+            listed += page.getResourceModels().size();
+            nextToken = page.getNextToken();
+        } while (nextToken != null);
+        final long elapsed = System.nanoTime() - begin;
+
+        assertThat(listed).isEqualTo(inventory.stream()
+                .filter(location -> location.locationUri().startsWith(Translator.LOCATION_URI_PREFIX))
+                .count());
+        System.out.println(String.format("%-12s %12d %12d %10d %10d %10.1f", label,
+                invocations, emptyPages, calls.get(), listed, elapsed / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+        return calls.get();
+    }
+
+    /**
+     * Answer each ListLocations call with the next page of the inventory, where a page's token is the index of
+     * the location to look at next. Applied filters skip the locations they do not match, and a page is filled
+     * from the locations that remain.
+     */
+    private void serve(final List<LocationListEntry> inventory, final boolean applyFilters) {
+        doAnswer(invocation -> {
+            calls.incrementAndGet();
+            if (CALL_LATENCY_MILLIS > 0) {
+                Thread.sleep(CALL_LATENCY_MILLIS);
+            }
+            final ListLocationsRequest request = invocation.getArgument(0);
+            int next = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+            final List<LocationListEntry> page = new ArrayList<>(PAGE_SIZE);
+            while (next < inventory.size() && page.size() < PAGE_SIZE) {
+                final LocationListEntry location = inventory.get(next++);
+                if (!applyFilters || matches(request.filters(), location)) {
+                    page.add(location);
+                }
+            }
+            return ListLocationsResponse.builder()
+                    .locations(page)
+                    .nextToken(next < inventory.size() ? Integer.toString(next) : null)
+                    .build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListLocationsRequest.class), any());
+    }
+
+    private static boolean matches(final List<LocationFilter> filters, final LocationListEntry location) {
+        for (LocationFilter filter : filters) {
+            if (filter.name() != LocationFilterName.LOCATION_URI || filter.operator() != Operator.BEGINS_WITH) {
+                throw new UnsupportedOperationException("The stand-in does not apply " + filter);
+            }
+            if (filter.values().stream().noneMatch(location.locationUri()::startsWith)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
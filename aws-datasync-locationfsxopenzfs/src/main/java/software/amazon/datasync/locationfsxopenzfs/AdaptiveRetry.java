@@ -0,0 +1,213 @@
+package software.amazon.datasync.locationfsxopenzfs;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The retry behaviour of the pooled DataSync clients. Each attempt first takes a token from the
+ * {@link SharedRateLimiter}, so a burst of handlers in the container slows down together instead of retrying
+ * into the throttling; a throttled attempt shrinks the limiter's rate and a successful call grows it back.
+ * Failed attempts are retried up to {@code retryMaxRetries} times (default 3) after a full-jitter backoff: a
+ * random delay of up to {@code retryBaseDelay} milliseconds (default 100), or {@code retryThrottledBaseDelay}
+ * (default 500) after throttling, doubled for each retry and capped at {@code retryMaxBackoff} (default 20000).
+ *
+ * <p>With the {@code retryMetrics} setting true, the limiter's current rate and the retries and throttled attempts
+ * since the last report are written to standard output as a CloudWatch embedded metric record, at most once every
+ * {@code retryMetricsInterval} milliseconds (default 60000) when a call completes. The records are not tied to an
+ * invocation, so they are off unless asked for.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class AdaptiveRetry {
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long DEFAULT_BASE_DELAY_MILLIS = 100;
+    private static final long DEFAULT_THROTTLED_BASE_DELAY_MILLIS = 500;
+    private static final long DEFAULT_MAX_BACKOFF_MILLIS = 20_000;
+    private static final long DEFAULT_METRICS_INTERVAL_MILLIS = 60_000;
+    private static final String METRICS_NAMESPACE = "DataSyncResourceProviders";
+
+    private static final SharedRateLimiter LIMITER = SharedRateLimiter.INSTANCE;
+    private static final ExecutionInterceptor RATE_LIMITING = new RateLimitingInterceptor();
+    private static final RetryCondition RETRY_CONDITION = new ObservingRetryCondition();
+
+    private static final AtomicLong RETRIES = new AtomicLong();
+    private static final AtomicLong THROTTLES = new AtomicLong();
+    private static final AtomicLong REPORTED_RETRIES = new AtomicLong();
+    private static final AtomicLong REPORTED_THROTTLES = new AtomicLong();
+    private static final AtomicLong REPORTED_MILLIS = new AtomicLong();
+
+    // Visible for testing: where the metric records go. Lambda sends standard output to the function's log group.
+    private static volatile Consumer<String> metricsSink = System.out::println;
+
+    /**
+     * Apply the retry policy and rate limiting to a client being built. Each client gets its own backoff
+     * strategies, and so its own jitter, but they all share the limiter and the metrics.
+     */
+    static void configure(final ClientOverrideConfiguration.Builder configuration) {
+        configuration.retryPolicy(retryPolicy()).addExecutionInterceptor(RATE_LIMITING);
+    }
+
+    static RetryPolicy retryPolicy() {
+        final Duration maxBackoff = Duration.ofMillis(
+                HandlerSettings.getLong("retryMaxBackoff", DEFAULT_MAX_BACKOFF_MILLIS));
+        return RetryPolicy.builder()
+                .numRetries(Math.max(0, HandlerSettings.getInt("retryMaxRetries", DEFAULT_MAX_RETRIES)))
+                .retryCondition(RETRY_CONDITION)
+                .backoffStrategy(new CountingBackoffStrategy(FullJitterBackoffStrategy.builder()
+                        .baseDelay(Duration.ofMillis(HandlerSettings.getLong("retryBaseDelay", DEFAULT_BASE_DELAY_MILLIS)))
+                        .maxBackoffTime(maxBackoff)
+                        .build(), false))
+                .throttlingBackoffStrategy(new CountingBackoffStrategy(FullJitterBackoffStrategy.builder()
+                        .baseDelay(Duration.ofMillis(HandlerSettings.getLong("retryThrottledBaseDelay",
+                                DEFAULT_THROTTLED_BASE_DELAY_MILLIS)))
+                        .maxBackoffTime(maxBackoff)
+                        .build(), true))
+                .build();
+    }
+
+    /**
+     * @return the retries made since the container started
+     */
+    static long getRetryCount() {
+        return RETRIES.get();
+    }
+
+    /**
+     * @return the throttled attempts seen since the container started
+     */
+    static long getThrottleCount() {
+        return THROTTLES.get();
+    }
+
+    /**
+     * @return the calls a second the shared limiter currently allows
+     */
+    static double getRate() {
+        return LIMITER.getRate();
+    }
+
+    // Visible for testing.
+    static void setMetricsSink(final Consumer<String> sink) {
+        metricsSink = sink;
+    }
+
+    /**
+     * Log the metric record if the records are on and the interval has passed since the last one.
+     */
+    static void reportMetricsIfDue() {
+        if (!HandlerSettings.getBoolean("retryMetrics", false)) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final long reported = REPORTED_MILLIS.get();
+        final long interval = HandlerSettings.getLong("retryMetricsInterval", DEFAULT_METRICS_INTERVAL_MILLIS);
+        if (now - reported < interval || !REPORTED_MILLIS.compareAndSet(reported, now)) {
+            return;
+        }
+        final long retries = RETRIES.get();
+        final long throttles = THROTTLES.get();
+        metricsSink.accept(metricsRecord(now, LIMITER.getRate(),
+                retries - REPORTED_RETRIES.getAndSet(retries), throttles - REPORTED_THROTTLES.getAndSet(throttles)));
+    }
+
+    /**
+     * @return the metrics as a CloudWatch embedded metric format record
+     */
+    static String metricsRecord(final long timestampMillis, final double rate, final long retries, final long throttles) {
+        return String.format(Locale.ROOT, "{\"_aws\":{\"Timestamp\":%d,\"CloudWatchMetrics\":[{\"Namespace\":\"%s\","
+                        + "\"Dimensions\":[[\"TypeName\"]],\"Metrics\":[{\"Name\":\"RateLimit\",\"Unit\":\"Count/Second\"},"
+                        + "{\"Name\":\"Retries\",\"Unit\":\"Count\"},{\"Name\":\"Throttles\",\"Unit\":\"Count\"}]}]},"
+                        + "\"TypeName\":\"%s\",\"RateLimit\":%.2f,\"Retries\":%d,\"Throttles\":%d}",
+                timestampMillis, METRICS_NAMESPACE, ResourceModel.TYPE_NAME, rate, retries, throttles);
+    }
+
+    private static boolean isThrottling(final Throwable exception) {
+        return exception instanceof SdkServiceException && ((SdkServiceException) exception).isThrottlingException();
+    }
+
+    private static void onThrottle() {
+        THROTTLES.incrementAndGet();
+        LIMITER.onThrottle();
+    }
+
+    private static final class RateLimitingInterceptor implements ExecutionInterceptor {
+        @Override
+        public void beforeTransmission(final Context.BeforeTransmission context, final ExecutionAttributes attributes) {
+            try {
+                LIMITER.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw AbortedException.builder().message("Interrupted while waiting for the DataSync rate limit")
+                        .cause(e).build();
+            }
+        }
+    }
+
+    /**
+     * Retries what the SDK retries by default, and tells the limiter how each call ended. Whether a failed
+     * attempt is retried is also up to the retry count and the SDK's retry capacity, so retries are counted
+     * where their backoff is worked out, and only the final attempt of a call is looked at here.
+     */
+    private static final class ObservingRetryCondition implements RetryCondition {
+        private final RetryCondition delegate = RetryCondition.defaultRetryCondition();
+
+        @Override
+        public boolean shouldRetry(final RetryPolicyContext context) {
+            return delegate.shouldRetry(context);
+        }
+
+        @Override
+        public void requestWillNotBeRetried(final RetryPolicyContext context) {
+            delegate.requestWillNotBeRetried(context);
+            if (isThrottling(context.exception())) {
+                onThrottle();
+            }
+            reportMetricsIfDue();
+        }
+
+        @Override
+        public void requestSucceeded(final RetryPolicyContext context) {
+            delegate.requestSucceeded(context);
+            LIMITER.onSuccess();
+            reportMetricsIfDue();
+        }
+    }
+
+    /**
+     * Counts the retries it works out a backoff for. The SDK uses the throttling strategy for throttled
+     * attempts, so that one also tells the limiter.
+     */
+    private static final class CountingBackoffStrategy implements BackoffStrategy {
+        private final BackoffStrategy delegate;
+        private final boolean throttling;
+
+        CountingBackoffStrategy(final BackoffStrategy delegate, final boolean throttling) {
+            this.delegate = delegate;
+            this.throttling = throttling;
+        }
+
+        @Override
+        public Duration computeDelayBeforeNextRetry(final RetryPolicyContext context) {
+            RETRIES.incrementAndGet();
+            if (throttling) {
+                onThrottle();
+            }
+            return delegate.computeDelayBeforeNextRetry(context);
+        }
+    }
+}
@@ -7,4 +7,12 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.ToString
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
+
+    // The throttled callbacks of the operation so far and the delay they added up to; see ThrottleCallback.
+    private int throttledAttempts;
+    private int throttledDelaySeconds;
+
+    // The Update steps already done, which a callback does not repeat.
+    private boolean tagsUpdated;
+
 }
@@ -6,6 +6,8 @@ class Configuration extends BaseConfiguration {
 
     public Configuration() {
         super("aws-datasync-locationfsxopenzfs.json");
+        HandlerPrimer.primeOnInit();
+        CheckpointHooks.register();
     }
 
     @Override
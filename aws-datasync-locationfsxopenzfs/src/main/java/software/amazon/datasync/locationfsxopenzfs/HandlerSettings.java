@@ -0,0 +1,77 @@
+package software.amazon.datasync.locationfsxopenzfs;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reads optional handler settings. A setting named {@code fooBar} is looked up first as the JVM
+ * system property {@code datasync.fooBar} and then as the environment variable
+ * {@code DATASYNC_FOO_BAR}, so it can be set on the function configuration or overridden locally.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class HandlerSettings {
+    private static final String PROPERTY_PREFIX = "datasync.";
+    private static final String ENVIRONMENT_PREFIX = "DATASYNC_";
+
+    static String getString(final String name) {
+        final String property = System.getProperty(PROPERTY_PREFIX + name);
+        if (property != null && !property.trim().isEmpty()) {
+            return property.trim();
+        }
+        final String environment = System.getenv(ENVIRONMENT_PREFIX + toEnvironmentName(name));
+        if (environment != null && !environment.trim().isEmpty()) {
+            return environment.trim();
+        }
+        return null;
+    }
+
+    static String getString(final String name, final String defaultValue) {
+        final String value = getString(name);
+        return value == null ? defaultValue : value;
+    }
+
+    static int getInt(final String name, final int defaultValue) {
+        final String value = getString(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    static long getLong(final String name, final long defaultValue) {
+        final String value = getString(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    static double getDouble(final String name, final double defaultValue) {
+        final String value = getString(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    static boolean getBoolean(final String name, final boolean defaultValue) {
+        final String value = getString(name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    private static String toEnvironmentName(final String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+}
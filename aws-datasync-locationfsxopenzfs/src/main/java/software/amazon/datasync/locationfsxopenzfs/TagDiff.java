@@ -0,0 +1,186 @@
+package software.amazon.datasync.locationfsxopenzfs;
+
+import software.amazon.awssdk.services.datasync.model.TagListEntry;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The tag changes an Update makes: the tags that are new or changed since the previous resource tags, or since
+ * the live tags when reconciling, and the keys no longer there. Each map is walked once, straight into the
+ * entries TagResource and UntagResource take.
+ */
+final class TagDiff {
+    /**
+     * The most tags DataSync keeps on a resource, not counting those with the aws: prefix.
+     */
+    static final int MAX_TAGS = 50;
+
+    private static final String AWS_TAG_PREFIX = "aws:";
+
+    private final List<TagListEntry> tagsToAdd;
+    private final List<String> keysToRemove;
+
+    private TagDiff(final List<TagListEntry> tagsToAdd, final List<String> keysToRemove) {
+        this.tagsToAdd = tagsToAdd;
+        this.keysToRemove = keysToRemove;
+    }
+
+    /**
+     * @param request
+     * @return the changes from the previous resource tags to the desired ones, adding the stack-level system
+     *         tags when they have not been applied before
+     * @throws CfnInvalidRequestException if a new or changed tag has a key with the aws: prefix
+     */
+    static TagDiff of(final ResourceHandlerRequest<ResourceModel> request) {
+        return of(request.getPreviousResourceTags(), request.getDesiredResourceTags(),
+                request.getPreviousSystemTags() == null ? request.getSystemTags() : null);
+    }
+
+    /**
+     * @param previous the tags the resource had, or null for none
+     * @param desired the tags it should have, or null for none
+     * @param systemTags tags to add as they are, or null for none
+     * @return the changes from the previous tags to the desired ones
+     * @throws CfnInvalidRequestException if a new or changed tag has a key with the aws: prefix, or if more tags
+     *         are desired than a resource can have
+     */
+    static TagDiff of(
+            final Map<String, String> previous,
+            final Map<String, String> desired,
+            final Map<String, String> systemTags) {
+        final Map<String, String> from = previous == null ? Collections.<String, String>emptyMap() : previous;
+        final Map<String, String> to = desired == null ? Collections.<String, String>emptyMap() : desired;
+        checkTagCount(to);
+
+        final List<TagListEntry> tagsToAdd =
+                new ArrayList<>(to.size() + (systemTags == null ? 0 : systemTags.size()));
+        for (Map.Entry<String, String> tag : to.entrySet()) {
+            final String key = tag.getKey();
+            if (!hasTag(from, key, tag.getValue())) {
+                if (hasAwsPrefix(key)) {
+                    throw new CfnInvalidRequestException(key + " is an invalid key. aws: prefixed tag key names cannot be requested.");
+                }
+                tagsToAdd.add(TagListEntry.builder().key(key).value(tag.getValue()).build());
+            }
+        }
+        if (systemTags != null) {
+            for (Map.Entry<String, String> tag : systemTags.entrySet()) {
+                tagsToAdd.add(TagListEntry.builder().key(tag.getKey()).value(tag.getValue()).build());
+            }
+        }
+
+        final List<String> keysToRemove = new ArrayList<>(from.size());
+        for (String key : from.keySet()) {
+            if (!to.containsKey(key)) {
+                keysToRemove.add(key);
+            }
+        }
+        return new TagDiff(tagsToAdd, keysToRemove);
+    }
+
+    /**
+     * @param live every tag the resource has now, including those CloudFormation applied
+     * @param request
+     * @return the changes from the live tags to the desired resource tags and stack-level system tags
+     * @throws CfnInvalidRequestException if a desired tag not already on the resource has a key with the aws: prefix
+     */
+    static TagDiff reconcile(final Map<String, String> live, final ResourceHandlerRequest<ResourceModel> request) {
+        return reconcile(live, request.getDesiredResourceTags(), request.getSystemTags());
+    }
+
+    /**
+     * Work out the changes against the tags the resource has rather than the tags it had before the Update, so
+     * that tags changed outside CloudFormation are put right and tags already as desired are not sent again.
+     * Keys with the aws: prefix that are not desired are left on the resource, as they cannot be removed.
+     *
+     * @param live every tag the resource has now, including those CloudFormation applied
+     * @param desired the tags it should have, or null for none
+     * @param systemTags tags it should also have, whatever their keys, or null for none
+     * @return the changes from the live tags to the desired ones
+     * @throws CfnInvalidRequestException if a desired tag not already on the resource has a key with the aws: prefix,
+     *         or if more tags are desired than a resource can have
+     */
+    static TagDiff reconcile(
+            final Map<String, String> live,
+            final Map<String, String> desired,
+            final Map<String, String> systemTags) {
+        final Map<String, String> to = desired == null ? Collections.<String, String>emptyMap() : desired;
+        final Map<String, String> system = systemTags == null ? Collections.<String, String>emptyMap() : systemTags;
+        checkTagCount(to);
+
+        final List<TagListEntry> tagsToAdd = new ArrayList<>();
+        for (Map.Entry<String, String> tag : to.entrySet()) {
+            final String key = tag.getKey();
+            if (!hasTag(live, key, tag.getValue())) {
+                if (hasAwsPrefix(key)) {
+                    throw new CfnInvalidRequestException(key + " is an invalid key. aws: prefixed tag key names cannot be requested.");
+                }
+                tagsToAdd.add(TagListEntry.builder().key(key).value(tag.getValue()).build());
+            }
+        }
+        for (Map.Entry<String, String> tag : system.entrySet()) {
+            if (!to.containsKey(tag.getKey()) && !hasTag(live, tag.getKey(), tag.getValue())) {
+                tagsToAdd.add(TagListEntry.builder().key(tag.getKey()).value(tag.getValue()).build());
+            }
+        }
+
+        final List<String> keysToRemove = new ArrayList<>();
+        for (String key : live.keySet()) {
+            if (!to.containsKey(key) && !system.containsKey(key) && !hasAwsPrefix(key)) {
+                keysToRemove.add(key);
+            }
+        }
+        return new TagDiff(tagsToAdd, keysToRemove);
+    }
+
+    /**
+     * Reject more desired tags than a resource can have before any tag call is made, so that a change DataSync
+     * would refuse is not left half applied.
+     *
+     * @param desired the tags the resource should have
+     * @throws CfnInvalidRequestException if more than {@link #MAX_TAGS} of them count toward the limit
+     */
+    static void checkTagCount(final Map<String, String> desired) {
+        int count = 0;
+        for (String key : desired.keySet()) {
+            if (!hasAwsPrefix(key)) {
+                count++;
+            }
+        }
+        if (count > MAX_TAGS) {
+            throw new CfnInvalidRequestException(String.format(
+                    "%d tags were requested, but a resource can have at most %d.", count, MAX_TAGS));
+        }
+    }
+
+    private static boolean hasTag(final Map<String, String> tags, final String key, final String value) {
+        final String current = tags.get(key);
+        return Objects.equals(current, value) && (current != null || tags.containsKey(key));
+    }
+
+    /**
+     * Whether the key starts with aws:, in any case and after any leading whitespace, as keys reserved for AWS
+     * do. Unlike trimming and lower-casing the key first, this allocates nothing.
+     */
+    static boolean hasAwsPrefix(final String key) {
+        int start = 0;
+        while (start < key.length() && key.charAt(start) <= ' ') {
+            start++;
+        }
+        return key.regionMatches(true, start, AWS_TAG_PREFIX, 0, AWS_TAG_PREFIX.length());
+    }
+
+    List<TagListEntry> getTagsToAdd() {
+        return tagsToAdd;
+    }
+
+    List<String> getKeysToRemove() {
+        return keysToRemove;
+    }
+}
@@ -1,11 +1,7 @@
 package software.amazon.datasync.locationfsxopenzfs;
 
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import software.amazon.awssdk.services.datasync.DataSyncClient;
 import software.amazon.awssdk.services.datasync.model.*;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -14,122 +10,164 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Since tags cannot be retrieved or updated through the DataSync Describe and Update
  * API calls, these methods make the appropriate tag-specific API requests.
  */
 public class TagRequestMaker {
-    private static final String AWS_TAG_PREFIX = "aws:";
+    /**
+     * Retrieve the tags associated with the given resource, other than those applied by CloudFormation.
+     * The listing is paged through to the end, {@code listTagsMaxResults} tags (default 100) at a time,
+     * and each page is filtered as it arrives.
+     *
+     * @param proxy
+     * @param client
+     * @param resourceArn
+     * @param deadline
+     * @return the set of user tags currently attached to the resource
+     */
+    public static Set<Tag> listUserTagsForResource(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final String resourceArn,
+            final InvocationDeadline deadline) {
+        final Set<Tag> userTags = new HashSet<Tag>();
+        listTagPages(proxy, client, resourceArn, deadline, page -> TagTranslator.addUserTags(page, userTags));
+        return userTags;
+    }
 
     /**
-     * Retrieve the tags associated with the given resource.
+     * Retrieve every tag associated with the given resource, including those applied by CloudFormation,
+     * paging through the listing as {@link #listUserTagsForResource} does.
      *
      * @param proxy
      * @param client
      * @param resourceArn
-     * @return the set of tags currently attached to the resource
+     * @param deadline
+     * @return the tags currently attached to the resource, by key
      */
-    public static Set<Tag> listTagsForResource(
+    static Map<String, String> listTagsForResource(
             final AmazonWebServicesClientProxy proxy,
             final DataSyncClient client,
-            final String resourceArn) {
-        final ListTagsForResourceRequest listTagsForResourceRequest = TagTranslator.translateToListTagsRequest(resourceArn);
+            final String resourceArn,
+            final InvocationDeadline deadline) {
+        final Map<String, String> tags = new HashMap<>();
+        listTagPages(proxy, client, resourceArn, deadline, page -> TagTranslator.addTags(page, tags));
+        return tags;
+    }
 
-        ListTagsForResourceResponse tagsResponse;
-        try {
-            tagsResponse = proxy.injectCredentialsAndInvokeV2(listTagsForResourceRequest, client::listTagsForResource);
-        } catch (InvalidRequestException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn);
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
-        }
+    private static void listTagPages(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final String resourceArn,
+            final InvocationDeadline deadline,
+            final Consumer<List<TagListEntry>> onPage) {
+        String nextToken = null;
+        do {
+            final ListTagsForResourceRequest listTagsForResourceRequest =
+                    TagTranslator.translateToListTagsRequest(resourceArn, nextToken);
 
-        if (tagsResponse.tags() != null) {
-            return TagTranslator.translateTagListEntries(tagsResponse.tags());
-        }
-        return new HashSet<Tag>();
+            ListTagsForResourceResponse tagsResponse;
+            try {
+                tagsResponse = deadline.invoke(proxy, listTagsForResourceRequest, client::listTagsForResource);
+            } catch (InvalidRequestException e) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn);
+            } catch (InternalException e) {
+                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+            } catch (DataSyncException e) {
+                throw Translator.translateDataSyncExceptionToCfnException(e);
+            }
+
+            onPage.accept(tagsResponse.tags());
+            nextToken = tagsResponse.nextToken();
+        } while (nextToken != null);
     }
 
     /**
      * Calculate and perform a delta update (additions and removals as needed) to
      * resource tags based on the current and previous tags supplied by the CloudFormation request.
+     * More desired tags than a resource can have are rejected before any call. The removals are made first,
+     * then the additions, in chunks as described in {@link TagChunks}.
+     * With the {@code reconcileTags} setting true, the changes are worked out against the tags the resource
+     * has, listed first, so that tags changed outside CloudFormation are put right and nothing is sent when
+     * the tags are already as desired.
      *
      * @param proxy
      * @param client
      * @param resourceArn
      * @param request
      * @param logger
+     * @param deadline
      */
     public static void updateTagsForResource(
             final AmazonWebServicesClientProxy proxy,
             final DataSyncClient client,
             final String resourceArn,
             final ResourceHandlerRequest<ResourceModel> request,
-            final Logger logger) {
-
-        Map<String, String> tagList = request.getDesiredResourceTags();
-        if (tagList == null) {
-            tagList = new HashMap<String, String>();
-        }
-
-        Map<String, String> prevTagList = new HashMap<String, String>();
-        if (request.getPreviousResourceTags() != null) {
-            prevTagList = request.getPreviousResourceTags();
-        }
+            final Logger logger,
+            final InvocationDeadline deadline) {
 
-        final Set<String> keysToRemove = Sets.difference(
-                prevTagList.keySet(),
-                tagList.keySet()
-        );
-
-        if (!keysToRemove.isEmpty()) {
-            UntagResourceRequest untagResourceRequest = TagTranslator.translateToUntagResourceRequest(
-                    keysToRemove, resourceArn);
-            try {
-                proxy.injectCredentialsAndInvokeV2(untagResourceRequest, client::untagResource);
-                logger.log(String.format("%s %s old tags removed successfully", ResourceModel.TYPE_NAME,
-                        resourceArn));
-            } catch (InvalidRequestException e) {
-                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn);
-            } catch (InternalException e) {
-                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-            }
-        }
+        TagChunks.apply(tagDiffFor(proxy, client, resourceArn, request, deadline),
+                keys -> untagResource(proxy, client, resourceArn, keys, deadline),
+                tags -> tagResource(proxy, client, resourceArn, tags, deadline),
+                resourceArn, logger);
+    }
 
-        MapDifference<String, String> mapDifference = Maps.difference(tagList, prevTagList);
-        final Set<Tag> tagsToAdd = mapDifference.entriesDiffering().entrySet().stream().map(entry -> {
-            return Tag.builder().key(entry.getKey()).value(entry.getValue().leftValue()).build();
-        }).collect(Collectors.toSet());
-        tagsToAdd.addAll(TagTranslator.translateMapToTags(mapDifference.entriesOnlyOnLeft()));
+    /**
+     * @return whether Update works out the tag changes against the live tags rather than the previous ones
+     */
+    static boolean isReconciling() {
+        return HandlerSettings.getBoolean("reconcileTags", false);
+    }
 
-        for (Tag tag : tagsToAdd) {
-            if (tag.getKey().trim().toLowerCase().startsWith(AWS_TAG_PREFIX)) {
-                throw new CfnInvalidRequestException(tag.getKey() + " is an invalid key. aws: prefixed tag key names cannot be requested.");
-            }
+    private static TagDiff tagDiffFor(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final String resourceArn,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final InvocationDeadline deadline) {
+        if (isReconciling()) {
+            return TagDiff.reconcile(listTagsForResource(proxy, client, resourceArn, deadline), request);
         }
+        return TagDiff.of(request);
+    }
 
-        if (request.getPreviousSystemTags() == null && request.getSystemTags() != null) {
-            tagsToAdd.addAll(TagTranslator.translateMapToTags(request.getSystemTags()));
+    private static void untagResource(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final String resourceArn,
+            final List<String> keysToRemove,
+            final InvocationDeadline deadline) {
+        UntagResourceRequest untagResourceRequest = TagTranslator.translateToUntagResourceRequest(
+                keysToRemove, resourceArn);
+        try {
+            deadline.invoke(proxy, untagResourceRequest, client::untagResource);
+        } catch (InvalidRequestException e) {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn);
+        } catch (InternalException e) {
+            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
         }
+    }
 
-        if (!tagsToAdd.isEmpty()) {
-            TagResourceRequest tagResourceRequest = TagTranslator.translateToTagResourceRequest(
-                    tagsToAdd, resourceArn);
-            try {
-                proxy.injectCredentialsAndInvokeV2(tagResourceRequest, client::tagResource);
-                logger.log(String.format("%s %s tags updated successfully", ResourceModel.TYPE_NAME,
-                        resourceArn));
-            } catch (InvalidRequestException e) {
-                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn);
-            } catch (InternalException e) {
-                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-            }
+    private static void tagResource(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final String resourceArn,
+            final List<TagListEntry> tagsToAdd,
+            final InvocationDeadline deadline) {
+        TagResourceRequest tagResourceRequest = TagTranslator.translateToTagResourceRequest(
+                tagsToAdd, resourceArn);
+        try {
+            deadline.invoke(proxy, tagResourceRequest, client::tagResource);
+        } catch (InvalidRequestException e) {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn);
+        } catch (InternalException e) {
+            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
         }
     }
 }
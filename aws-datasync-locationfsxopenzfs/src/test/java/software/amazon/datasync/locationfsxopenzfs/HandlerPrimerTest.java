@@ -0,0 +1,74 @@
+package software.amazon.datasync.locationfsxopenzfs;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandlerPrimerTest {
+    private static final String PRIME_ON_INIT_PROPERTY = "datasync.primeOnInit";
+    private static final String ENDPOINT_OVERRIDE_PROPERTY = "datasync.endpointOverride";
+
+    @BeforeEach
+    public void setup() {
+        HandlerPrimer.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(PRIME_ON_INIT_PROPERTY);
+        System.clearProperty(ENDPOINT_OVERRIDE_PROPERTY);
+        HandlerPrimer.reset();
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void prime_RunsOncePerContainer() {
+        assertThat(HandlerPrimer.prime(false)).isTrue();
+        assertThat(HandlerPrimer.prime(false)).isFalse();
+    }
+
+    @Test
+    public void prime_PoolsClientForFunctionRegion() {
+        HandlerPrimer.prime(false);
+
+        assertThat(ClientBuilder.getPool().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void primeOnInit_CanBeDisabled() {
+        System.setProperty(PRIME_ON_INIT_PROPERTY, "false");
+
+        HandlerPrimer.primeOnInit();
+
+        assertThat(ClientBuilder.getPool().size()).isEqualTo(0);
+        assertThat(HandlerPrimer.prime(false)).isTrue();
+    }
+
+    @Test
+    public void prime_OpensConnectionToEndpoint() throws IOException {
+        final AtomicInteger requests = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            System.setProperty(ENDPOINT_OVERRIDE_PROPERTY, "http://localhost:" + server.getAddress().getPort());
+
+            HandlerPrimer.prime(true);
+
+            assertThat(requests.get()).isEqualTo(1);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
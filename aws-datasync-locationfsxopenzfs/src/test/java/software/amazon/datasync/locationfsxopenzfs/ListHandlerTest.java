@@ -3,11 +3,15 @@ package software.amazon.datasync.locationfsxopenzfs;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.datasync.model.ListLocationsRequest;
 import software.amazon.awssdk.services.datasync.model.ListLocationsResponse;
+import software.amazon.awssdk.services.datasync.model.LocationFilter;
+import software.amazon.awssdk.services.datasync.model.LocationFilterName;
 import software.amazon.awssdk.services.datasync.model.LocationListEntry;
+import software.amazon.awssdk.services.datasync.model.Operator;
 import software.amazon.cloudformation.proxy.*;
 
 import java.util.Arrays;
@@ -17,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest {
@@ -68,6 +73,23 @@ public class ListHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_FiltersToThisLocationTypeOnDataSync() {
+        doReturn(ListLocationsResponse.builder().locations(buildDefaultList()).build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListLocationsRequest.class), any());
+
+        new ListHandler().handleRequest(proxy, ResourceHandlerRequest.<ResourceModel>builder().build(), null, logger);
+
+        final ArgumentCaptor<ListLocationsRequest> captor = ArgumentCaptor.forClass(ListLocationsRequest.class);
+        verify(proxy).injectCredentialsAndInvokeV2(captor.capture(), any());
+        assertThat(captor.getValue().filters()).containsExactly(LocationFilter.builder()
+                .name(LocationFilterName.LOCATION_URI)
+                .operator(Operator.BEGINS_WITH)
+                .values(Translator.LOCATION_URI_PREFIX)
+                .build());
+    }
+
     private static List<LocationListEntry> buildDefaultList() {
         final String locationArn1 = "arn:aws:datasync:us-west-2:123456789012:location/loc-1234567890123456";
         final String locationUri1 = "fsxz://us-west-2.fs-01234567890123456/";
@@ -5,12 +5,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 import software.amazon.awssdk.services.datasync.model.*;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.*;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,6 +25,7 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class ReadHandlerTest {
+    private static final long BLOCKED_MILLIS = 10_000;
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -77,6 +85,10 @@ public class ReadHandlerTest {
         doThrow(InvalidRequestException.class)
                 .when(proxy)
                 .injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+        // The tags are listed alongside the failing Describe call.
+        lenient().doReturn(TagTestResources.buildDefaultTagsResponse())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
 
         final ResourceModel model = buildDefaultModel();
 
@@ -96,6 +108,10 @@ public class ReadHandlerTest {
         doThrow(InternalException.class)
                 .when(proxy)
                 .injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+        // The tags are listed alongside the failing Describe call.
+        lenient().doReturn(TagTestResources.buildDefaultTagsResponse())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
 
         final ResourceModel model = buildDefaultModel();
 
@@ -116,6 +132,10 @@ public class ReadHandlerTest {
         doThrow(DataSyncException.class)
                 .when(proxy)
                 .injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+        // The tags are listed alongside the failing Describe call.
+        lenient().doReturn(TagTestResources.buildDefaultTagsResponse())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
 
         final ResourceModel model = buildDefaultModel();
 
@@ -128,6 +148,174 @@ public class ReadHandlerTest {
         } );
     }
 
+    @Test
+    public void handleRequest_DescribeAndListTagsRunAtOnce() {
+        final ReadHandler handler = new ReadHandler();
+        final CountDownLatch started = new CountDownLatch(2);
+        final AtomicInteger overlapped = new AtomicInteger();
+
+        final DescribeLocationFsxOpenZfsResponse describeResponse = buildDefaultResponse();
+        final ListTagsForResourceResponse listTagsForResourceResponse = TagTestResources.buildDefaultTagsResponse();
+
+        doAnswer(overlapping(started, overlapped, describeResponse))
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+        doAnswer(overlapping(started, overlapped, listTagsForResourceResponse))
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildDefaultModel())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        // One after the other, the first call would give up waiting for the second to start.
+        assertThat(overlapped.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void handleRequest_ListTagsNotFound_CancelsDescribe() throws InterruptedException {
+        final ReadHandler handler = new ReadHandler();
+        final CountDownLatch describeInterrupted = new CountDownLatch(1);
+
+        doAnswer(blocked(describeInterrupted))
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+        doThrow(InvalidRequestException.class)
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildDefaultModel())
+                .build();
+
+        assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
+        assertThat(describeInterrupted.await(BLOCKED_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    public void handleRequest_DescribeNotFound_CancelsListTags() throws InterruptedException {
+        final ReadHandler handler = new ReadHandler();
+        final CountDownLatch listTagsInterrupted = new CountDownLatch(1);
+
+        doThrow(InvalidRequestException.class)
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+        doAnswer(blocked(listTagsInterrupted))
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildDefaultModel())
+                .build();
+
+        assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
+        assertThat(listTagsInterrupted.await(BLOCKED_MILLIS, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    public void handleRequest_PagesThroughTags() {
+        final ReadHandler handler = new ReadHandler();
+        final List<ListTagsForResourceRequest> listTagsRequests = new CopyOnWriteArrayList<>();
+
+        doReturn(buildDefaultResponse())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+        doAnswer(invocation -> {
+            final ListTagsForResourceRequest listTagsRequest = invocation.getArgument(0);
+            listTagsRequests.add(listTagsRequest);
+            if (listTagsRequest.nextToken() == null) {
+                return ListTagsForResourceResponse.builder()
+                        .tags(TagListEntry.builder().key("team").value("storage").build(),
+                                TagListEntry.builder().key("aws:cloudformation:stack-name").value("stack").build())
+                        .nextToken("page-2")
+                        .build();
+            }
+            return ListTagsForResourceResponse.builder()
+                    .tags(TagListEntry.builder().key("owner").value("ops").build())
+                    .build();
+        })
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildDefaultModel())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModel().getTags()).containsExactlyInAnyOrder(
+                Tag.builder().key("team").value("storage").build(),
+                Tag.builder().key("owner").value("ops").build());
+        assertThat(listTagsRequests).extracting(ListTagsForResourceRequest::nextToken).containsExactly(null, "page-2");
+        assertThat(listTagsRequests).extracting(ListTagsForResourceRequest::maxResults).containsOnly(100);
+    }
+
+    @Test
+    public void handleRequest_CacheEnabled_SecondReadIsServedFromCache() {
+        final String ttl = System.getProperty("datasync.readCacheTtl");
+        System.setProperty("datasync.readCacheTtl", "60000");
+        ReadHandler.READ_CACHE.clear();
+        final long hits = ReadHandler.READ_CACHE.getHitCount();
+        try {
+            final ReadHandler handler = new ReadHandler();
+            doReturn(buildDefaultResponse())
+                    .when(proxy)
+                    .injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+            doReturn(TagTestResources.buildDefaultTagsResponse())
+                    .when(proxy)
+                    .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .awsAccountId("123456789012")
+                    .desiredResourceState(buildDefaultModel())
+                    .build();
+
+            final ProgressEvent<ResourceModel, CallbackContext> first = handler.handleRequest(proxy, request, null, logger);
+            final ProgressEvent<ResourceModel, CallbackContext> second = handler.handleRequest(proxy, request, null, logger);
+
+            assertThat(second.getResourceModel()).isEqualTo(first.getResourceModel());
+            verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(DescribeLocationFsxOpenZfsRequest.class), any());
+            verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+            assertThat(ReadHandler.READ_CACHE.getHitCount()).isEqualTo(hits + 1);
+        } finally {
+            if (ttl == null) {
+                System.clearProperty("datasync.readCacheTtl");
+            } else {
+                System.setProperty("datasync.readCacheTtl", ttl);
+            }
+            ReadHandler.READ_CACHE.clear();
+        }
+    }
+
+    // Waits for the other call to start as well, counting the calls that saw it start.
+    private static Answer<Object> overlapping(
+            final CountDownLatch started, final AtomicInteger overlapped, final Object response) {
+        return invocation -> {
+            started.countDown();
+            if (started.await(BLOCKED_MILLIS, TimeUnit.MILLISECONDS)) {
+                overlapped.incrementAndGet();
+            }
+            return response;
+        };
+    }
+
+    // Blocks like a call that does not answer, until the handler cancels it.
+    private static Answer<Object> blocked(final CountDownLatch interrupted) {
+        return invocation -> {
+            try {
+                Thread.sleep(BLOCKED_MILLIS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        };
+    }
+
     private static DescribeLocationFsxOpenZfsResponse buildDefaultResponse() {
         final String locationArn = "arn:aws:datasync:us-west-2:123456789012:location/loc-1234567890123456";
         final String locationUri = "fsxz://us-west-2.fs-01234567890123456/";
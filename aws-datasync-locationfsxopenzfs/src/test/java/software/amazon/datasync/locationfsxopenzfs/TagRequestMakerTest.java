@@ -0,0 +1,275 @@
+package software.amazon.datasync.locationfsxopenzfs;
+
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.awssdk.services.datasync.model.InternalException;
+import software.amazon.awssdk.services.datasync.model.InvalidRequestException;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.datasync.model.TagListEntry;
+import software.amazon.awssdk.services.datasync.model.TagResourceRequest;
+import software.amazon.awssdk.services.datasync.model.TagResourceResponse;
+import software.amazon.awssdk.services.datasync.model.UntagResourceRequest;
+import software.amazon.awssdk.services.datasync.model.UntagResourceResponse;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class TagRequestMakerTest {
+    private static final String RESOURCE_ARN = "arn:aws:datasync:us-east-1:123456789012:resource/id";
+
+    private AmazonWebServicesClientProxy proxy;
+    private DataSyncClient client;
+    private Logger logger;
+    private TagLimitStub stub;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        client = mock(DataSyncClient.class);
+        logger = mock(Logger.class);
+        stub = new TagLimitStub(TagChunks.MAX_TAGS_PER_REQUEST);
+
+        doAnswer(invocation -> stub.untag(invocation.getArgument(0)))
+                .when(proxy).injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        doAnswer(invocation -> stub.tag(invocation.getArgument(0)))
+                .when(proxy).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        doAnswer(invocation -> stub.list(invocation.getArgument(0)))
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty("datasync.reconcileTags");
+    }
+
+    private static Map<String, String> tags(final String prefix, final int count) {
+        final Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            tags.put(prefix + i, "value-" + i);
+        }
+        return tags;
+    }
+
+    private void updateTags(final ResourceHandlerRequest<ResourceModel> request) {
+        TagRequestMaker.updateTagsForResource(proxy, client, RESOURCE_ARN, request, logger, InvocationDeadline.start());
+    }
+
+    @Test
+    public void updateTagsForResource_MoreTagsThanAResourceCanHave_IsRejectedBeforeAnyCall() {
+        assertThatThrownBy(() -> updateTags(ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(tags("old-", 10))
+                .desiredResourceTags(tags("new-", TagDiff.MAX_TAGS + 1))
+                .build()))
+                .isInstanceOf(CfnInvalidRequestException.class);
+
+        assertThat(stub.operations()).isEmpty();
+    }
+
+    @Test
+    public void updateTagsForResource_EveryTagReplaced_RemovesThenAddsInOneRequestEach() {
+        updateTags(ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(tags("old-", TagDiff.MAX_TAGS))
+                .desiredResourceTags(tags("new-", TagDiff.MAX_TAGS))
+                .build());
+
+        assertThat(stub.operations()).containsExactly("untag", "tag");
+        assertThat(stub.removedKeys()).containsOnlyKeys(tags("old-", TagDiff.MAX_TAGS).keySet());
+        assertThat(stub.addedTags()).isEqualTo(tags("new-", TagDiff.MAX_TAGS));
+    }
+
+    @Test
+    public void updateTagsForResource_SmallChange_IsOneRequestEach() {
+        updateTags(ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(tags("old-", 2))
+                .desiredResourceTags(tags("new-", 3))
+                .build());
+
+        assertThat(stub.untagRequests()).isEqualTo(1);
+        assertThat(stub.tagRequests()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateTagsForResource_RemovedKeyAddedAgain_RemovesFirst() {
+        final Map<String, String> previous = tags("old-", TagDiff.MAX_TAGS - 1);
+        previous.put("shared", "value");
+        updateTags(ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(previous)
+                .desiredResourceTags(tags("new-", TagDiff.MAX_TAGS))
+                .systemTags(Collections.singletonMap("shared", "value"))
+                .build());
+
+        assertThat(stub.operations()).containsExactly("untag", "tag", "tag");
+        assertThat(stub.addedTags()).containsEntry("shared", "value");
+    }
+
+    @Test
+    public void updateTagsForResource_ChunkFails_StopsAndReportsEachOutcome() {
+        stub.failTagging("new-0");
+
+        assertThatThrownBy(() -> updateTags(ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(tags("old-", TagDiff.MAX_TAGS))
+                .desiredResourceTags(tags("new-", TagDiff.MAX_TAGS))
+                .build()))
+                .isInstanceOf(CfnServiceInternalErrorException.class);
+
+        assertThat(stub.operations()).containsExactly("untag");
+        assertThat(stub.removedKeys()).hasSize(TagDiff.MAX_TAGS);
+        verify(logger, atLeastOnce()).log(contains("failed"));
+        verify(logger, atLeastOnce()).log(contains("succeeded"));
+    }
+
+    @Test
+    public void updateTagsForResource_NotReconciling_SendsSystemTagsAgain() {
+        updateTags(ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(tags("key-", 3))
+                .desiredResourceTags(tags("key-", 3))
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .build());
+
+        assertThat(stub.operations()).containsExactly("tag");
+    }
+
+    @Test
+    public void updateTagsForResource_ReconcilingLiveTagsAsDesired_MakesNoMutatingCall() {
+        System.setProperty("datasync.reconcileTags", "true");
+        final Map<String, String> live = tags("key-", 3);
+        live.put("aws:cloudformation:stack-name", "stack");
+        stub.setLive(live);
+
+        updateTags(ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(tags("key-", 3))
+                .desiredResourceTags(tags("key-", 3))
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .build());
+
+        assertThat(stub.operations()).containsExactly("list");
+    }
+
+    @Test
+    public void updateTagsForResource_ReconcilingOutOfBandChanges_PutsThemRight() {
+        System.setProperty("datasync.reconcileTags", "true");
+        final Map<String, String> live = tags("key-", 3);
+        live.put("key-1", "changed");
+        live.put("added-outside", "value");
+        live.put("aws:reserved", "value");
+        stub.setLive(live);
+
+        updateTags(ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(tags("key-", 3))
+                .desiredResourceTags(tags("key-", 3))
+                .build());
+
+        final Map<String, String> expected = tags("key-", 3);
+        expected.put("aws:reserved", "value");
+        assertThat(stub.operations()).startsWith("list").containsExactlyInAnyOrder("list", "untag", "tag");
+        assertThat(stub.live()).isEqualTo(expected);
+    }
+
+    /**
+     * Stands in for the service's tag calls: a request with more tags or keys than the limit is rejected,
+     * as the service rejects it, and each accepted request is recorded and applied to the resource's tags.
+     */
+    private static final class TagLimitStub {
+        private final int limit;
+        private final List<String> operations = new ArrayList<>();
+        private final Map<String, String> addedTags = new HashMap<>();
+        private final Map<String, Integer> removedKeys = new HashMap<>();
+        private final Map<String, String> live = new HashMap<>();
+        private String failingKey;
+
+        TagLimitStub(final int limit) {
+            this.limit = limit;
+        }
+
+        synchronized UntagResourceResponse untag(final UntagResourceRequest request) {
+            if (request.keys().size() > limit) {
+                throw InvalidRequestException.builder().message("Too many keys").build();
+            }
+            operations.add("untag");
+            for (String key : request.keys()) {
+                removedKeys.merge(key, 1, Integer::sum);
+                live.remove(key);
+            }
+            return UntagResourceResponse.builder().build();
+        }
+
+        synchronized TagResourceResponse tag(final TagResourceRequest request) {
+            if (request.tags().size() > limit) {
+                throw InvalidRequestException.builder().message("Too many tags").build();
+            }
+            for (TagListEntry tag : request.tags()) {
+                if (tag.key().equals(failingKey)) {
+                    throw InternalException.builder().message("Internal failure").build();
+                }
+            }
+            operations.add("tag");
+            for (TagListEntry tag : request.tags()) {
+                addedTags.put(tag.key(), tag.value());
+                live.put(tag.key(), tag.value());
+            }
+            return TagResourceResponse.builder().build();
+        }
+
+        synchronized ListTagsForResourceResponse list(final ListTagsForResourceRequest request) {
+            operations.add("list");
+            final List<TagListEntry> tags = new ArrayList<>();
+            for (Map.Entry<String, String> tag : live.entrySet()) {
+                tags.add(TagListEntry.builder().key(tag.getKey()).value(tag.getValue()).build());
+            }
+            return ListTagsForResourceResponse.builder().tags(tags).build();
+        }
+
+        synchronized void setLive(final Map<String, String> tags) {
+            live.clear();
+            live.putAll(tags);
+        }
+
+        synchronized Map<String, String> live() {
+            return new HashMap<>(live);
+        }
+
+        synchronized void failTagging(final String key) {
+            failingKey = key;
+        }
+
+        synchronized List<String> operations() {
+            return new ArrayList<>(operations);
+        }
+
+        synchronized int untagRequests() {
+            return Collections.frequency(operations, "untag");
+        }
+
+        synchronized int tagRequests() {
+            return Collections.frequency(operations, "tag");
+        }
+
+        synchronized Map<String, String> addedTags() {
+            return new HashMap<>(addedTags);
+        }
+
+        synchronized Map<String, Integer> removedKeys() {
+            return new HashMap<>(removedKeys);
+        }
+    }
+}
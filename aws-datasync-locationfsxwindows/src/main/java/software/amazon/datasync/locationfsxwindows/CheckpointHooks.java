@@ -0,0 +1,50 @@
+package software.amazon.datasync.locationfsxwindows;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Prepares the handler for a checkpoint of the initialised function, such as a Lambda SnapStart
+ * snapshot, and for each restore from it. The hooks are registered from {@link Configuration} and do
+ * nothing on a JVM without checkpoint support.
+ *
+ * <p>Before the checkpoint the handler is primed, so the classes and state warmed by
+ * {@link HandlerPrimer} are part of the snapshot, and the pooled clients and connections are closed,
+ * since a connection in the snapshot would be stale after restore. With the default wrapper transport,
+ * whose client the wrapper owns, the clients move to an HTTP client of the handler's own that can be
+ * closed. After restore the pooled clients and connections are replaced again and the client for the
+ * function's region is rebuilt. Building a client also seeds the jitter of its retry backoff, so every
+ * restored copy draws its own retry delays instead of the ones seeded before the checkpoint.
+ */
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+final class CheckpointHooks implements Resource {
+    // The global context only holds registered resources weakly.
+    private static final CheckpointHooks INSTANCE = new CheckpointHooks();
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean();
+
+    /**
+     * Register the hooks with the global checkpoint context, once per container.
+     */
+    static void register() {
+        if (REGISTERED.compareAndSet(false, true)) {
+            Core.getGlobalContext().register(INSTANCE);
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) {
+        HandlerPrimer.prime(false);
+        ClientBuilder.resetConnections();
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        ClientBuilder.resetConnections();
+        HandlerPrimer.primeClient();
+    }
+}
@@ -22,19 +22,36 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
 
         DeleteLocationRequest deleteLocationRequest = Translator.translateToDeleteRequest(model);
 
+        boolean gone = false;
         try {
             proxy.injectCredentialsAndInvokeV2(deleteLocationRequest, client::deleteLocation);
             logger.log(String.format("%s %s deleted successfully", ResourceModel.TYPE_NAME, model.getLocationArn()));
+            gone = true;
         } catch (InvalidRequestException e) {
+            // Already gone, so reads of it can fail at once as well.
+            gone = true;
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
         } catch (InternalException e) {
             throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
         } catch (DataSyncException e) {
+            if (e.isThrottlingException()) {
+                // Nothing was deleted, so the callback tries again.
+                return ThrottleCallback.inProgress(model, callbackContext,
+                        Translator.translateDataSyncExceptionToCfnException(e), logger);
+            }
             throw Translator.translateDataSyncExceptionToCfnException(e);
+        } finally {
+            // Whether or not the delete went through, a cached read may no longer hold. Only a resource known
+            // to be gone leaves a tombstone.
+            if (gone) {
+                ReadHandler.READ_CACHE.markDeleted(request.getAwsAccountId(), model.getLocationArn());
+            } else {
+                ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), model.getLocationArn());
+            }
         }
         return ProgressEvent.defaultSuccessHandler(null);
     }
@@ -28,25 +28,14 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final Logger logger) {
 
         final String nextToken = request.getNextToken();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
 
-        final ListLocationsRequest listLocationsRequest = Translator.translateToListRequest(nextToken);
-
-        final ListLocationsResponse response;
-        try {
-            response = proxy.injectCredentialsAndInvokeV2(listLocationsRequest, client::listLocations);
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
-        }
+        final ListLocationsResponse response = listLocations(proxy, client, nextToken);
 
         List<ResourceModel> models = new ArrayList<>();
         for (LocationListEntry loc : response.locations()) {
             // Add only if it is an FSX location
-            if (loc.locationUri().startsWith("fsxw://")) {
+            if (loc.locationUri().startsWith(Translator.LOCATION_URI_PREFIX)) {
                 ResourceModel model = ResourceModel.builder()
                         .locationArn(loc.locationArn())
                         .locationUri(loc.locationUri())
@@ -55,10 +44,53 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             }
         }
 
+        if (ListEnricher.isEnabled()) {
+            return enriched(proxy, request, logger, models, response.nextToken());
+        }
+
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModels(models)
                 .status(OperationStatus.SUCCESS)
                 .nextToken(response.nextToken())
                 .build();
     }
+
+    /**
+     * Answer with the full model of each listed resource, read within the time of this invocation.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> enriched(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final Logger logger,
+            final List<ResourceModel> listed,
+            final String nextToken) {
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        final ListEnricher.Page page = ListEnricher.enrich(listed, ResourceModel::getLocationArn,
+                model -> new ReadHandler().handleRequest(
+                        proxy, ListEnricher.toReadRequest(request, model), null, logger, deadline).getResourceModel(),
+                logger);
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModels(page.getModels())
+                .message(page.getMessage())
+                .status(OperationStatus.SUCCESS)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private static ListLocationsResponse listLocations(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final String nextToken) {
+        final ListLocationsRequest listLocationsRequest = Translator.translateToListRequest(nextToken);
+        try {
+            return proxy.injectCredentialsAndInvokeV2(listLocationsRequest, client::listLocations);
+        } catch (InvalidRequestException e) {
+            throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
+        } catch (InternalException e) {
+            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+        } catch (DataSyncException e) {
+            throw Translator.translateDataSyncExceptionToCfnException(e);
+        }
+    }
 }
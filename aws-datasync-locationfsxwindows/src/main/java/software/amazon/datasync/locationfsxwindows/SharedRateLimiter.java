@@ -0,0 +1,136 @@
+package software.amazon.datasync.locationfsxwindows;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket that every DataSync call in the container takes a token from before each attempt, so that the
+ * container as a whole keeps under the rate the service accepts. The rate starts at the {@code rateLimit} setting
+ * in calls a second (default 20, and 0 for no limit); a container runs one invocation at a time, so the default
+ * only holds back bursts such as the reads of an enriched List page or a run of retries. The rate adapts: a
+ * throttled call shrinks it by {@code rateLimitDecrease} (default 0.5), at most once a second since calls already
+ * under way were sent at the old rate, down to {@code rateLimitMin} (default 1); each call that succeeds grows it
+ * back by {@code rateLimitRecovery} calls a second (default 0.1), up to the starting rate. The bucket holds a
+ * second's worth of tokens.
+ *
+ * <p>Callers that find the bucket empty reserve the next token and sleep until it is due, so waiting callers are
+ * served in the order they arrived.
+ */
+final class SharedRateLimiter {
+    private static final double DEFAULT_RATE = 20;
+    private static final double DEFAULT_MIN_RATE = 1;
+    private static final double DEFAULT_DECREASE = 0.5;
+    private static final double DEFAULT_RECOVERY = 0.1;
+    private static final long DECREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    static final SharedRateLimiter INSTANCE = new SharedRateLimiter(
+            HandlerSettings.getDouble("rateLimit", DEFAULT_RATE),
+            HandlerSettings.getDouble("rateLimitMin", DEFAULT_MIN_RATE),
+            HandlerSettings.getDouble("rateLimitDecrease", DEFAULT_DECREASE),
+            HandlerSettings.getDouble("rateLimitRecovery", DEFAULT_RECOVERY),
+            System::nanoTime);
+
+    private final double maxRate;
+    private final double minRate;
+    private final double decrease;
+    private final double recovery;
+    private final LongSupplier clock;
+
+    // All guarded by this limiter.
+    private double rate;
+    private double tokens;
+    private long refilledNanos;
+    private long decreasedNanos;
+
+    SharedRateLimiter(
+            final double maxRate,
+            final double minRate,
+            final double decrease,
+            final double recovery,
+            final LongSupplier clock) {
+        this.maxRate = Math.max(0, maxRate);
+        this.minRate = Math.min(this.maxRate, minRate > 0 ? minRate : DEFAULT_MIN_RATE);
+        this.decrease = decrease > 0 && decrease < 1 ? decrease : DEFAULT_DECREASE;
+        this.recovery = Math.max(0, recovery);
+        this.clock = clock;
+        this.rate = this.maxRate;
+        this.tokens = capacity();
+        this.refilledNanos = clock.getAsLong();
+        this.decreasedNanos = refilledNanos - DECREASE_INTERVAL_NANOS;
+    }
+
+    boolean isEnabled() {
+        return maxRate > 0;
+    }
+
+    /**
+     * Take a token, waiting until one is due if the bucket is empty.
+     *
+     * @throws InterruptedException if the thread is interrupted while it waits
+     */
+    void acquire() throws InterruptedException {
+        final long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Take a token, which may not be due yet.
+     *
+     * @return how long to wait before the token is due, in nanoseconds
+     */
+    synchronized long reserve() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+
+    /**
+     * Shrink the rate after a throttled call, unless it was shrunk less than a second ago.
+     */
+    synchronized void onThrottle() {
+        if (!isEnabled()) {
+            return;
+        }
+        refill();
+        final long now = clock.getAsLong();
+        if (now - decreasedNanos < DECREASE_INTERVAL_NANOS) {
+            return;
+        }
+        decreasedNanos = now;
+        rate = Math.max(minRate, rate * decrease);
+        tokens = Math.min(tokens, capacity());
+    }
+
+    /**
+     * Grow the rate back after a call that succeeded.
+     */
+    synchronized void onSuccess() {
+        if (!isEnabled() || rate >= maxRate) {
+            return;
+        }
+        refill();
+        rate = Math.min(maxRate, rate + recovery);
+    }
+
+    /**
+     * @return the calls a second the bucket currently allows, or 0 if it does not limit them
+     */
+    synchronized double getRate() {
+        return rate;
+    }
+
+    private double capacity() {
+        return Math.max(1, rate);
+    }
+
+    private void refill() {
+        final long now = clock.getAsLong();
+        tokens = Math.min(capacity(), tokens + (now - refilledNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+        refilledNanos = now;
+    }
+}
@@ -5,6 +5,9 @@ import software.amazon.awssdk.services.datasync.model.DataSyncException;
 import software.amazon.awssdk.services.datasync.model.DeleteLocationRequest;
 import software.amazon.awssdk.services.datasync.model.DescribeLocationFsxWindowsRequest;
 import software.amazon.awssdk.services.datasync.model.ListLocationsRequest;
+import software.amazon.awssdk.services.datasync.model.LocationFilter;
+import software.amazon.awssdk.services.datasync.model.LocationFilterName;
+import software.amazon.awssdk.services.datasync.model.Operator;
 import software.amazon.awssdk.services.datasync.model.TagListEntry;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
@@ -16,6 +19,9 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 public class Translator {
+    // The scheme of the URIs of this module's locations.
+    static final String LOCATION_URI_PREFIX = "fsxw://";
+
 
     Translator() {}
 
@@ -43,8 +49,17 @@ public class Translator {
                 .build();
     }
 
+    /**
+     * @return a request for the page of the token, filtered on DataSync to the locations of this module; the
+     *         ListHandler still checks the URI of each location listed
+     */
     public static ListLocationsRequest translateToListRequest(final String nextToken) {
         return ListLocationsRequest.builder()
+                .filters(LocationFilter.builder()
+                        .name(LocationFilterName.LOCATION_URI)
+                        .operator(Operator.BEGINS_WITH)
+                        .values(LOCATION_URI_PREFIX)
+                        .build())
                 .nextToken(nextToken)
                 .build();
     }
@@ -0,0 +1,72 @@
+package software.amazon.datasync.locationfsxwindows;
+
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ClientBuilderTest {
+
+    @AfterEach
+    public void tearDown() {
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void getClient_RepeatedCallsShareInstance() {
+        final DataSyncClient first = ClientBuilder.getClient();
+        final DataSyncClient second = ClientBuilder.getClient();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void getClient_ConcurrentCallsShareInstance() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<DataSyncClient>> calls = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                calls.add(ClientBuilder::getClient);
+            }
+            final DataSyncClient expected = ClientBuilder.getClient();
+            for (Future<DataSyncClient> future : executor.invokeAll(calls)) {
+                assertThat(future.get()).isSameAs(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getClient_OneClientPerRegion() {
+        final DataSyncClient east = ClientBuilder.getClient("us-east-1");
+        final DataSyncClient west = ClientBuilder.getClient("us-west-2");
+
+        assertThat(ClientBuilder.getClient("us-east-1")).isSameAs(east);
+        assertThat(west).isNotSameAs(east);
+        assertThat(ClientBuilder.getPool().getHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void closeClient_ClosesAndRebuilds() {
+        final DataSyncClient client = mock(DataSyncClient.class);
+        ClientBuilder.setClient(client);
+        assertThat(ClientBuilder.getClient()).isSameAs(client);
+
+        ClientBuilder.closeClient();
+
+        verify(client).close();
+        assertThat(ClientBuilder.getClient()).isNotSameAs(client);
+    }
+}
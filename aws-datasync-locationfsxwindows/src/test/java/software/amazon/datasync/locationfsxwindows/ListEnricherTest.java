@@ -0,0 +1,124 @@
+package software.amazon.datasync.locationfsxwindows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ListEnricherTest {
+    private static final String ARN_PREFIX = "arn:aws:datasync:us-east-1:123456789012:resource/";
+
+    private final Logger logger = mock(Logger.class);
+
+    @BeforeEach
+    public void setup() {
+        System.setProperty("datasync.listEnrichRate", "0");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty("datasync.listEnrichRate");
+    }
+
+    private static ResourceModel model(final String arn) {
+        return ResourceModel.builder().locationArn(arn).build();
+    }
+
+    private static List<ResourceModel> listed(final int count) {
+        final List<ResourceModel> listed = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            listed.add(model(ARN_PREFIX + i));
+        }
+        return listed;
+    }
+
+    private static List<String> arns(final List<ResourceModel> models) {
+        return models.stream().map(ResourceModel::getLocationArn).collect(Collectors.toList());
+    }
+
+    @Test
+    public void enrich_ReadsEveryResource_InListedOrder() {
+        final List<ResourceModel> listed = listed(10);
+
+        final ListEnricher.Page page = ListEnricher.enrich(listed, ResourceModel::getLocationArn,
+                model -> model(model.getLocationArn() + "/read"), logger);
+
+        assertThat(arns(page.getModels())).isEqualTo(arns(listed).stream()
+                .map(arn -> arn + "/read")
+                .collect(Collectors.toList()));
+        assertThat(page.getMessage()).isNull();
+    }
+
+    @Test
+    public void enrich_FailedRead_ListsResourceAsListed() {
+        final List<ResourceModel> listed = listed(10);
+
+        final ListEnricher.Page page = ListEnricher.enrich(listed, ResourceModel::getLocationArn, model -> {
+            if (model.getLocationArn().equals(ARN_PREFIX + 3)) {
+                throw new CfnServiceInternalErrorException("Describe", new RuntimeException());
+            }
+            return model(model.getLocationArn() + "/read");
+        }, logger);
+
+        assertThat(page.getModels()).hasSize(10);
+        assertThat(page.getModels().get(3)).isSameAs(listed.get(3));
+        assertThat(page.getModels().get(4).getLocationArn()).isEqualTo(ARN_PREFIX + "4/read");
+        assertThat(page.getMessage()).startsWith("1 of 10 ").contains(ARN_PREFIX + 3);
+    }
+
+    @Test
+    public void enrich_DeletedResource_IsLeftOut() {
+        final List<ResourceModel> listed = listed(3);
+
+        final ListEnricher.Page page = ListEnricher.enrich(listed, ResourceModel::getLocationArn, model -> {
+            if (model.getLocationArn().equals(ARN_PREFIX + 0)) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
+            }
+            return model;
+        }, logger);
+
+        assertThat(arns(page.getModels())).containsExactly(ARN_PREFIX + 1, ARN_PREFIX + 2);
+        assertThat(page.getMessage()).isNull();
+    }
+
+    @Test
+    public void enrich_RunsReadsAtOnce_UpToTheConcurrency() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger mostRunning = new AtomicInteger();
+
+        ListEnricher.enrich(listed(16), ResourceModel::getLocationArn, model -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return model;
+        }, logger);
+
+        assertThat(mostRunning.get()).isBetween(2, 4);
+    }
+
+    @Test
+    public void enrich_StartsReadsAtMostAtTheRate() {
+        System.setProperty("datasync.listEnrichRate", "50");
+
+        final long begin = System.nanoTime();
+        ListEnricher.enrich(listed(11), ResourceModel::getLocationArn, model -> model, logger);
+
+        // Eleven starts at 50 a second are spread over at least 200 milliseconds.
+        assertThat(System.nanoTime() - begin).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(180));
+    }
+}
@@ -4,21 +4,24 @@ import software.amazon.awssdk.services.datasync.DataSyncClient;
 import software.amazon.awssdk.services.datasync.model.CreateLocationHdfsRequest;
 import software.amazon.awssdk.services.datasync.model.CreateLocationHdfsResponse;
 import software.amazon.awssdk.services.datasync.model.DataSyncException;
+import software.amazon.awssdk.services.datasync.model.DescribeLocationHdfsResponse;
 import software.amazon.awssdk.services.datasync.model.InternalException;
 import software.amazon.awssdk.services.datasync.model.InvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class CreateHandler extends BaseHandler<CallbackContext> {
-    private static final String AWS_TAG_PREFIX = "aws:";
-
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -27,23 +30,31 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
 
         if (callbackContext == null && (request.getDesiredResourceState().getLocationArn() != null)) {
             throw new CfnInvalidRequestException("LocationArn cannot be specified to create a location.");
         }
 
-        Map<String, String> tagList = request.getDesiredResourceTags();
-        if (tagList == null) {
-            tagList = new HashMap<String, String>();
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        if (callbackContext != null && request.getDesiredResourceState().getLocationArn() != null) {
+            // Called back after the location was created but before it could be read.
+            return readCreatedResource(proxy, request, callbackContext, logger, deadline);
+        }
+
+        // Copied, so that the desired tags still hold only the user tags once the system tags are added.
+        final Map<String, String> tagList = new HashMap<String, String>();
+        if (request.getDesiredResourceTags() != null) {
+            tagList.putAll(request.getDesiredResourceTags());
         }
 
         // Check for invalid requested system tags.
         for (String key : tagList.keySet()) {
-            if (key.trim().toLowerCase().startsWith(AWS_TAG_PREFIX)) {
+            if (TagDiff.hasAwsPrefix(key)) {
                 throw new CfnInvalidRequestException(key + " is an invalid key. aws: prefixed tag key names cannot be requested.");
             }
         }
+        TagDiff.checkTagCount(tagList);
 
         //  Retrieve default stack-level tags with aws:cloudformation prefix.
         Map<String, String> systemTagList = request.getSystemTags();
@@ -59,24 +70,119 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
         CreateLocationHdfsResponse response;
         try {
-            response = proxy.injectCredentialsAndInvokeV2(createLocationHdfsRequest, client::createLocationHdfs);
+            response = deadline.invoke(proxy, createLocationHdfsRequest, client::createLocationHdfs);
             logger.log(String.format("%s created successfully.", ResourceModel.TYPE_NAME));
+        } catch (InvocationDeadline.ExpiredException e) {
+            if (e.isCallStarted()) {
+                // The outcome is unknown, and creating again on callback could leave a duplicate behind.
+                throw new CfnGeneralServiceException(e.getMessage(), e);
+            }
+            return deadline.inProgress(model, callbackContext);
         } catch (InvalidRequestException e) {
             throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
         } catch (InternalException e) {
             throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
         } catch (DataSyncException e) {
+            if (e.isThrottlingException()) {
+                // Nothing was created, so the callback creates the location then.
+                return ThrottleCallback.inProgress(model, callbackContext,
+                        Translator.translateDataSyncExceptionToCfnException(e), logger);
+            }
             throw Translator.translateDataSyncExceptionToCfnException(e);
         }
 
-        ResourceModel modelWithArn = ResourceModel.builder()
-                .locationArn(response.locationArn())
+        model.setLocationArn(response.locationArn());
+        // Reads of the new resource go to DataSync, not to a tombstone left under the same ARN.
+        ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), response.locationArn());
+        return readCreatedResource(proxy, request, callbackContext, logger, deadline);
+    }
+
+    /**
+     * Read the created resource or, if the invocation runs out of time or is throttled first, have
+     * CloudFormation call back to read it then.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> readCreatedResource(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> requestWithArn,
+            final CallbackContext callbackContext,
+            final Logger logger,
+            final InvocationDeadline deadline) {
+        try {
+            if (isWriteThrough()) {
+                return describeCreatedResource(proxy, requestWithArn, deadline);
+            }
+            return new ReadHandler().handleRequest(proxy, requestWithArn, callbackContext, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            return deadline.inProgress(requestWithArn.getDesiredResourceState(), callbackContext);
+        } catch (RuntimeException e) {
+            if (ThrottleCallback.isThrottling(e)) {
+                return ThrottleCallback.inProgress(
+                        requestWithArn.getDesiredResourceState(), callbackContext, e, logger);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Assemble the created resource from the create request instead of reading it back. A single Describe
+     * supplies the fields the service computes, and the tags are the ones just sent, so they are not listed.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> describeCreatedResource(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> requestWithArn,
+            final InvocationDeadline deadline) {
+        final ResourceModel model = requestWithArn.getDesiredResourceState();
+        final DataSyncClient client = ClientBuilder.getClient(requestWithArn.getRegion());
+
+        final DescribeLocationHdfsResponse response;
+        try {
+            response = deadline.invoke(proxy, Translator.translateToReadRequest(model.getLocationArn()), client::describeLocationHdfs);
+        } catch (InvalidRequestException e) {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
+        } catch (InternalException e) {
+            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+        } catch (DataSyncException e) {
+            throw Translator.translateDataSyncExceptionToCfnException(e);
+        }
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(translateToCreatedModel(model, response,
+                        TagTranslator.translateMapToTags(requestWithArn.getDesiredResourceTags())))
+                .status(OperationStatus.SUCCESS)
                 .build();
+    }
 
-        ResourceHandlerRequest<ResourceModel> requestWithArn = request.toBuilder()
-                .desiredResourceState(modelWithArn)
+    private static ResourceModel translateToCreatedModel(
+            final ResourceModel model,
+            final DescribeLocationHdfsResponse response,
+            final Set<Tag> userTags) {
+        return ResourceModel.builder()
+                .locationArn(model.getLocationArn())
+                .locationUri(response.locationUri())
+                .agentArns(model.getAgentArns())
+                // Settings left out of the template are filled in with the service defaults.
+                .blockSize(model.getBlockSize() != null || response.blockSize() == null
+                        ? model.getBlockSize()
+                        : Long.valueOf(response.blockSize()))
+                .replicationFactor(model.getReplicationFactor() != null || response.replicationFactor() == null
+                        ? model.getReplicationFactor()
+                        : Long.valueOf(response.replicationFactor()))
+                .authenticationType(model.getAuthenticationType())
+                .nameNodes(model.getNameNodes())
+                .simpleUser(model.getSimpleUser())
+                .kmsKeyProviderUri(model.getKmsKeyProviderUri())
+                .kerberosPrincipal(model.getKerberosPrincipal())
+                .qopConfiguration(model.getQopConfiguration() != null
+                        ? model.getQopConfiguration()
+                        : Translator.translateToResourceModelQopConfiguration(response.qopConfiguration()))
+                .tags(userTags)
                 .build();
+    }
 
-        return new ReadHandler().handleRequest(proxy, requestWithArn, callbackContext, logger);
+    /**
+     * @return whether the {@code createWriteThrough} setting has Create assemble the model rather than read it back
+     */
+    private static boolean isWriteThrough() {
+        return HandlerSettings.getBoolean("createWriteThrough", false);
     }
 }
@@ -7,6 +7,9 @@ import software.amazon.awssdk.services.datasync.model.DescribeLocationHdfsReques
 import software.amazon.awssdk.services.datasync.model.DeleteLocationRequest;
 import software.amazon.awssdk.services.datasync.model.HdfsNameNode;
 import software.amazon.awssdk.services.datasync.model.ListLocationsRequest;
+import software.amazon.awssdk.services.datasync.model.LocationFilter;
+import software.amazon.awssdk.services.datasync.model.LocationFilterName;
+import software.amazon.awssdk.services.datasync.model.Operator;
 import software.amazon.awssdk.services.datasync.model.QopConfiguration;
 import software.amazon.awssdk.services.datasync.model.UpdateLocationHdfsRequest;
 import software.amazon.cloudformation.exceptions.BaseHandlerException;
@@ -23,6 +26,9 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 public class Translator {
+    // The scheme of the URIs of this module's locations.
+    static final String LOCATION_URI_PREFIX = "hdfs://";
+
     private static final String PRESIGNED_URL_PREFIX = "https://";
 
     public static CreateLocationHdfsRequest translateToCreateRequest(final ResourceModel model, Map<String, String> tags) {
@@ -55,8 +61,17 @@ public class Translator {
                 .build();
     }
 
+    /**
+     * @return a request for the page of the token, filtered on DataSync to the locations of this module; the
+     *         ListHandler still checks the URI of each location listed
+     */
     public static ListLocationsRequest translateToListRequest(final String nextToken) {
         return ListLocationsRequest.builder()
+                .filters(LocationFilter.builder()
+                        .name(LocationFilterName.LOCATION_URI)
+                        .operator(Operator.BEGINS_WITH)
+                        .values(LOCATION_URI_PREFIX)
+                        .build())
                 .nextToken(nextToken)
                 .build();
     }
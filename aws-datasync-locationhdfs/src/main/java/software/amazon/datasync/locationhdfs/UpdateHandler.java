@@ -22,25 +22,58 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger logger) {
 
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        try {
+            return updateResource(proxy, request, context, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            // The steps already done are recorded in the context, so only the rest runs again on callback.
+            return deadline.inProgress(request.getDesiredResourceState(), context);
+        } catch (RuntimeException e) {
+            // A failed update may still have changed part of the resource.
+            ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), request.getDesiredResourceState().getLocationArn());
+            if (ThrottleCallback.isThrottling(e)) {
+                return ThrottleCallback.inProgress(request.getDesiredResourceState(), context, e, logger);
+            }
+            throw e;
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> updateResource(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger,
+            final InvocationDeadline deadline) {
+
         final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
 
         final UpdateLocationHdfsRequest updateLocationHdfsRequest = Translator.translateToUpdateRequest(model);
 
-        try {
-            proxy.injectCredentialsAndInvokeV2(updateLocationHdfsRequest, client::updateLocationHdfs);
-            logger.log(String.format("%s %s updated successfully.", ResourceModel.TYPE_NAME, model.getLocationArn()));
-        } catch (InvalidRequestException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw new CfnGeneralServiceException(e.getMessage(), e.getCause());
+        if (!callbackContext.isResourceUpdated()) {
+            try {
+                deadline.invoke(proxy, updateLocationHdfsRequest, client::updateLocationHdfs);
+                callbackContext.setResourceUpdated(true);
+                logger.log(String.format("%s %s updated successfully.", ResourceModel.TYPE_NAME, model.getLocationArn()));
+            } catch (InvalidRequestException e) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
+            } catch (InternalException e) {
+                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+            } catch (DataSyncException e) {
+                throw new CfnGeneralServiceException(e.getMessage(), e.getCause());
+            }
         }
 
         // Tags are not handled by the Update call and must be updated separately
-        TagRequestMaker.updateTagsForResource(proxy, client, model.getLocationArn(), request, logger);
+        if (!callbackContext.isTagsUpdated()) {
+            TagRequestMaker.updateTagsForResource(proxy, client, model.getLocationArn(), request, logger, deadline);
+            callbackContext.setTagsUpdated(true);
+        }
+
+        // Read back the changes rather than a read cached before them.
+        ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), model.getLocationArn());
 
-        return new ReadHandler().handleRequest(proxy, request, callbackContext, logger);
+        return new ReadHandler().handleRequest(proxy, request, callbackContext, logger, deadline);
     }
 }
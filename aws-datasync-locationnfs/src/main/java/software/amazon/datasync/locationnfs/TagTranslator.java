@@ -12,24 +12,36 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 public class TagTranslator {
+    // Tags that CloudFormation applies to the stack's resources, which are not part of the model.
+    static final String AWS_CFN_TAG_PREFIX = "aws:cloudformation:";
+    private static final int DEFAULT_LIST_TAGS_MAX_RESULTS = 100;
 
     public static ListTagsForResourceRequest translateToListTagsRequest(final String resourceArn) {
+        return translateToListTagsRequest(resourceArn, null);
+    }
+
+    /**
+     * @return a request for the page of tags that starts at the given token, or for the first page if it is null
+     */
+    public static ListTagsForResourceRequest translateToListTagsRequest(final String resourceArn, final String nextToken) {
         return ListTagsForResourceRequest.builder()
                 .resourceArn(resourceArn)
+                .maxResults(HandlerSettings.getInt("listTagsMaxResults", DEFAULT_LIST_TAGS_MAX_RESULTS))
+                .nextToken(nextToken)
                 .build();
     }
 
-    public static TagResourceRequest translateToTagResourceRequest(final Set<Tag> tagsToAdd, final String resourceArn) {
+    public static TagResourceRequest translateToTagResourceRequest(final List<TagListEntry> tagsToAdd, final String resourceArn) {
         return TagResourceRequest.builder()
                 .resourceArn(resourceArn)
-                .tags(translateTags(tagsToAdd))
+                .tags(tagsToAdd)
                 .build();
     }
 
-    public static UntagResourceRequest translateToUntagResourceRequest(final Set<String> tagsToRemove, final String resourceArn) {
+    public static UntagResourceRequest translateToUntagResourceRequest(final List<String> keysToRemove, final String resourceArn) {
         return UntagResourceRequest.builder()
                 .resourceArn(resourceArn)
-                .keys(tagsToRemove)
+                .keys(keysToRemove)
                 .build();
     }
 
@@ -49,6 +61,30 @@ public class TagTranslator {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Add the tags of one page of a tag listing to the user tags, skipping those applied by CloudFormation.
+     */
+    static void addUserTags(final List<TagListEntry> page, final Set<Tag> userTags) {
+        if (page == null)
+            return;
+        for (TagListEntry entry : page) {
+            if (!entry.key().startsWith(AWS_CFN_TAG_PREFIX)) {
+                userTags.add(Tag.builder().key(entry.key()).value(entry.value()).build());
+            }
+        }
+    }
+
+    /**
+     * Add the tags of one page of a tag listing to the tags by key, including those applied by CloudFormation.
+     */
+    static void addTags(final List<TagListEntry> page, final Map<String, String> tags) {
+        if (page == null)
+            return;
+        for (TagListEntry entry : page) {
+            tags.put(entry.key(), entry.value());
+        }
+    }
+
     static Map<String, String> translateTagsToMap(final Set<Tag> tags) {
         if (tags == null)
             return Collections.emptyMap();
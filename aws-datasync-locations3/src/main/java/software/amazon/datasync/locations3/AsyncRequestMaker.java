@@ -0,0 +1,208 @@
+package software.amazon.datasync.locations3;
+
+import software.amazon.awssdk.services.datasync.DataSyncAsyncClient;
+import software.amazon.awssdk.services.datasync.model.DataSyncException;
+import software.amazon.awssdk.services.datasync.model.DescribeLocationS3Request;
+import software.amazon.awssdk.services.datasync.model.DescribeLocationS3Response;
+import software.amazon.awssdk.services.datasync.model.InternalException;
+import software.amazon.awssdk.services.datasync.model.InvalidRequestException;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.datasync.model.TagListEntry;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking counterparts of the DataSync calls made by the handlers, built on
+ * {@link DataSyncAsyncClient}. Each call is returned as a {@link CompletableFuture} stage that
+ * fails with the same CloudFormation exceptions the blocking calls throw.
+ */
+public class AsyncRequestMaker {
+
+    AsyncRequestMaker() {}
+
+    public static CompletableFuture<DescribeLocationS3Response> describeLocationS3(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncAsyncClient client,
+            final String locationArn) {
+        final DescribeLocationS3Request describeLocationS3Request = Translator.translateToReadRequest(locationArn);
+        return proxy.injectCredentialsAndInvokeV2Async(describeLocationS3Request, client::describeLocationS3)
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        throw translateNotFound(throwable, locationArn);
+                    }
+                    return response;
+                });
+    }
+
+    /**
+     * Retrieve the tags associated with the given resource, other than those applied by CloudFormation,
+     * paging through the listing as {@link TagRequestMaker#listUserTagsForResource} does.
+     *
+     * @param proxy
+     * @param client
+     * @param resourceArn
+     * @return a stage completing with the set of user tags currently attached to the resource
+     */
+    public static CompletableFuture<Set<Tag>> listUserTagsForResource(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncAsyncClient client,
+            final String resourceArn) {
+        final Set<Tag> userTags = new HashSet<Tag>();
+        return listTagPages(proxy, client, resourceArn, null, page -> TagTranslator.addUserTags(page, userTags))
+                .thenApply(ignored -> userTags);
+    }
+
+    /**
+     * Retrieve every tag associated with the given resource, as {@link TagRequestMaker#listTagsForResource} does.
+     *
+     * @param proxy
+     * @param client
+     * @param resourceArn
+     * @return a stage completing with the tags currently attached to the resource, by key
+     */
+    static CompletableFuture<Map<String, String>> listTagsForResource(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncAsyncClient client,
+            final String resourceArn) {
+        final Map<String, String> tags = new HashMap<>();
+        return listTagPages(proxy, client, resourceArn, null, page -> TagTranslator.addTags(page, tags))
+                .thenApply(ignored -> tags);
+    }
+
+    // Each page is requested once the previous one has been handed on, so only one stage at a time adds to the result.
+    private static CompletableFuture<Void> listTagPages(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncAsyncClient client,
+            final String resourceArn,
+            final String nextToken,
+            final Consumer<List<TagListEntry>> onPage) {
+        final ListTagsForResourceRequest listTagsForResourceRequest =
+                TagTranslator.translateToListTagsRequest(resourceArn, nextToken);
+        return proxy.injectCredentialsAndInvokeV2Async(listTagsForResourceRequest, client::listTagsForResource)
+                .handle((tagsResponse, throwable) -> {
+                    if (throwable != null) {
+                        throw translateNotFound(throwable, resourceArn);
+                    }
+                    onPage.accept(tagsResponse.tags());
+                    return tagsResponse.nextToken();
+                })
+                .thenCompose(next -> next == null
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : listTagPages(proxy, client, resourceArn, next, onPage));
+    }
+
+    /**
+     * Perform the same delta update as {@link TagRequestMaker#updateTagsForResource}, in the same chunks,
+     * against the live tags when reconciling.
+     *
+     * @param proxy
+     * @param client
+     * @param resourceArn
+     * @param request
+     * @param logger
+     * @return a stage completing once every tag mutation has been applied
+     */
+    public static CompletableFuture<Void> updateTagsForResource(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncAsyncClient client,
+            final String resourceArn,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final Logger logger) {
+        final CompletableFuture<TagDiff> tagDiff = TagRequestMaker.isReconciling()
+                ? listTagsForResource(proxy, client, resourceArn).thenApply(live -> TagDiff.reconcile(live, request))
+                : CompletableFuture.completedFuture(TagDiff.of(request));
+        return tagDiff.thenCompose(diff -> TagChunks.applyAsync(diff,
+                keys -> orNotFound(proxy.injectCredentialsAndInvokeV2Async(
+                        TagTranslator.translateToUntagResourceRequest(keys, resourceArn), client::untagResource),
+                        resourceArn),
+                tags -> orNotFound(proxy.injectCredentialsAndInvokeV2Async(
+                        TagTranslator.translateToTagResourceRequest(tags, resourceArn), client::tagResource),
+                        resourceArn),
+                resourceArn, logger));
+    }
+
+    private static CompletableFuture<Void> orNotFound(final CompletableFuture<?> call, final String resourceArn) {
+        return call.handle((response, throwable) -> {
+            if (throwable != null) {
+                throw translateNotFound(throwable, resourceArn);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Wait for a stage built by this class and rethrow its failure unwrapped, so that handlers
+     * surface the same exceptions in either mode.
+     */
+    static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw asRuntimeException(unwrap(e));
+        }
+    }
+
+    /**
+     * Translate a failed call on an existing resource: an invalid request means the resource was not found.
+     */
+    static RuntimeException translateNotFound(final Throwable throwable, final String resourceArn) {
+        final Throwable cause = unwrap(throwable);
+        if (cause instanceof InvalidRequestException) {
+            return new CfnNotFoundException(ResourceModel.TYPE_NAME, resourceArn);
+        }
+        return translate(cause);
+    }
+
+    /**
+     * Translate a failed create call: an invalid request is reported back as such.
+     */
+    static RuntimeException translateInvalidRequest(final Throwable throwable) {
+        final Throwable cause = unwrap(throwable);
+        if (cause instanceof InvalidRequestException) {
+            return new CfnInvalidRequestException(cause.getMessage(), cause.getCause());
+        }
+        return translate(cause);
+    }
+
+    private static RuntimeException translate(final Throwable cause) {
+        if (cause instanceof BaseHandlerException) {
+            return (BaseHandlerException) cause;
+        } else if (cause instanceof InternalException) {
+            return new CfnServiceInternalErrorException(cause.getMessage(), cause.getCause());
+        } else if (cause instanceof DataSyncException) {
+            return Translator.translateDataSyncExceptionToCfnException((DataSyncException) cause);
+        }
+        return asRuntimeException(cause);
+    }
+
+    private static Throwable unwrap(final Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static RuntimeException asRuntimeException(final Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new CompletionException(cause);
+    }
+}
@@ -1,5 +1,6 @@
 package software.amazon.datasync.locations3;
 
+import software.amazon.awssdk.services.datasync.DataSyncAsyncClient;
 import software.amazon.awssdk.services.datasync.DataSyncClient;
 import software.amazon.awssdk.services.datasync.model.CreateLocationS3Request;
 import software.amazon.awssdk.services.datasync.model.CreateLocationS3Response;
@@ -8,19 +9,22 @@ import software.amazon.awssdk.services.datasync.model.DescribeLocationS3Request;
 import software.amazon.awssdk.services.datasync.model.DescribeLocationS3Response;
 import software.amazon.awssdk.services.datasync.model.InternalException;
 import software.amazon.awssdk.services.datasync.model.InvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class CreateHandler extends BaseHandler<CallbackContext> {
-    private static final String AWS_TAG_PREFIX = "aws:";
-
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -32,20 +36,27 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             throw new CfnInvalidRequestException("LocationArn cannot be specified to create a location.");
         }
 
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        if (callbackContext != null && request.getDesiredResourceState().getLocationArn() != null) {
+            // Called back after the location was created but before it could be read.
+            return readCreatedResource(proxy, request, callbackContext, logger, deadline);
+        }
+
         final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
 
-        Map<String, String> tagList = request.getDesiredResourceTags();
-        if (tagList == null) {
-            tagList = new HashMap<String, String>();
+        // Copied, so that the desired tags still hold only the user tags once the system tags are added.
+        final Map<String, String> tagList = new HashMap<String, String>();
+        if (request.getDesiredResourceTags() != null) {
+            tagList.putAll(request.getDesiredResourceTags());
         }
 
         // Check for invalid requested system tags.
         for (String key : tagList.keySet()) {
-            if (key.trim().toLowerCase().startsWith(AWS_TAG_PREFIX)) {
+            if (TagDiff.hasAwsPrefix(key)) {
                 throw new CfnInvalidRequestException(key + " is an invalid key. aws: prefixed tag key names cannot be requested.");
             }
         }
+        TagDiff.checkTagCount(tagList);
 
         //  Retrieve default stack-level tags with aws:cloudformation prefix.
         Map<String, String> systemTagList = request.getSystemTags();
@@ -55,32 +66,160 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
         CreateLocationS3Request createLocationS3Request = Translator.translateToCreateRequest(model, tagList);
 
+        if (ClientBuilder.isAsyncMode()) {
+            try {
+                return AsyncRequestMaker.join(handleRequestAsync(proxy, request, createLocationS3Request, logger));
+            } catch (RuntimeException e) {
+                if (ThrottleCallback.isThrottling(e)) {
+                    // The model has the ARN once the location is created, so the callback only reads it then.
+                    return ThrottleCallback.inProgress(model, callbackContext, e, logger);
+                }
+                throw e;
+            }
+        }
+
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
         CreateLocationS3Response response;
         try {
-            response = proxy.injectCredentialsAndInvokeV2(createLocationS3Request, client::createLocationS3);
+            response = deadline.invoke(proxy, createLocationS3Request, client::createLocationS3);
             logger.log(String.format("%s created successfully.", ResourceModel.TYPE_NAME));
+        } catch (InvocationDeadline.ExpiredException e) {
+            if (e.isCallStarted()) {
+                // The outcome is unknown, and creating again on callback could leave a duplicate behind.
+                throw new CfnGeneralServiceException(e.getMessage(), e);
+            }
+            return deadline.inProgress(model, callbackContext);
         } catch (InvalidRequestException e) {
             throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
         } catch (InternalException e) {
             throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
         } catch (DataSyncException e) {
+            if (e.isThrottlingException()) {
+                // Nothing was created, so the callback creates the location then.
+                return ThrottleCallback.inProgress(model, callbackContext,
+                        Translator.translateDataSyncExceptionToCfnException(e), logger);
+            }
             throw Translator.translateDataSyncExceptionToCfnException(e);
         }
 
-        final ResourceModel modelNoUri = ResourceModel.builder()
-                .locationArn(response.locationArn())
-                .s3BucketArn(model.getS3BucketArn())
-                .s3Config(model.getS3Config())
-                .s3StorageClass(model.getS3StorageClass())
-                .subdirectory(model.getSubdirectory())
-                .tags(model.getTags())
-                .build();
+        model.setLocationArn(response.locationArn());
+        // Reads of the new resource go to DataSync, not to a tombstone left under the same ARN.
+        ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), response.locationArn());
+        return readCreatedResource(proxy, request, callbackContext, logger, deadline);
+    }
+
+    private CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequestAsync(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CreateLocationS3Request createLocationS3Request,
+            final Logger logger) {
+        final DataSyncAsyncClient client = ClientBuilder.getAsyncClient(request.getRegion());
+
+        return proxy.injectCredentialsAndInvokeV2Async(createLocationS3Request, client::createLocationS3)
+                .<String>handle((response, throwable) -> {
+                    if (throwable != null) {
+                        throw AsyncRequestMaker.translateInvalidRequest(throwable);
+                    }
+                    logger.log(String.format("%s created successfully.", ResourceModel.TYPE_NAME));
+                    return response.locationArn();
+                })
+                .thenCompose(locationArn -> {
+                    request.getDesiredResourceState().setLocationArn(locationArn);
+                    ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), locationArn);
+                    return readCreatedResourceAsync(proxy, request);
+                });
+    }
+
+    private static CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> readCreatedResourceAsync(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> requestWithArn) {
+        if (!isWriteThrough()) {
+            return new ReadHandler().handleRequestAsync(proxy, requestWithArn);
+        }
+        final ResourceModel model = requestWithArn.getDesiredResourceState();
+        final DataSyncAsyncClient client = ClientBuilder.getAsyncClient(requestWithArn.getRegion());
+
+        return AsyncRequestMaker.describeLocationS3(proxy, client, model.getLocationArn())
+                .thenApply(response -> ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(translateToCreatedModel(model, response,
+                                TagTranslator.translateMapToTags(requestWithArn.getDesiredResourceTags())))
+                        .status(OperationStatus.SUCCESS)
+                        .build());
+    }
 
-        ResourceHandlerRequest<ResourceModel> requestWithArn = request.toBuilder()
-                .desiredResourceState(modelNoUri)
+    /**
+     * Read the created resource or, if the invocation runs out of time or is throttled first, have
+     * CloudFormation call back to read it then.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> readCreatedResource(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> requestWithArn,
+            final CallbackContext callbackContext,
+            final Logger logger,
+            final InvocationDeadline deadline) {
+        try {
+            if (isWriteThrough()) {
+                return describeCreatedResource(proxy, requestWithArn, deadline);
+            }
+            return new ReadHandler().handleRequest(proxy, requestWithArn, callbackContext, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            return deadline.inProgress(requestWithArn.getDesiredResourceState(), callbackContext);
+        } catch (RuntimeException e) {
+            if (ThrottleCallback.isThrottling(e)) {
+                return ThrottleCallback.inProgress(
+                        requestWithArn.getDesiredResourceState(), callbackContext, e, logger);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Assemble the created resource from the create request instead of reading it back. A single Describe
+     * supplies the fields the service computes, and the tags are the ones just sent, so they are not listed.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> describeCreatedResource(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> requestWithArn,
+            final InvocationDeadline deadline) {
+        final ResourceModel model = requestWithArn.getDesiredResourceState();
+        final DataSyncClient client = ClientBuilder.getClient(requestWithArn.getRegion());
+
+        final DescribeLocationS3Response response;
+        try {
+            response = deadline.invoke(proxy, Translator.translateToReadRequest(model.getLocationArn()), client::describeLocationS3);
+        } catch (InvalidRequestException e) {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
+        } catch (InternalException e) {
+            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+        } catch (DataSyncException e) {
+            throw Translator.translateDataSyncExceptionToCfnException(e);
+        }
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(translateToCreatedModel(model, response,
+                        TagTranslator.translateMapToTags(requestWithArn.getDesiredResourceTags())))
+                .status(OperationStatus.SUCCESS)
                 .build();
+    }
 
-        return new ReadHandler().handleRequest(proxy, requestWithArn, callbackContext, logger);
+    private static ResourceModel translateToCreatedModel(
+            final ResourceModel model,
+            final DescribeLocationS3Response response,
+            final Set<Tag> userTags) {
+        return ResourceModel.builder()
+                .locationArn(model.getLocationArn())
+                .locationUri(response.locationUri())
+                .s3Config(model.getS3Config())
+                // The storage class defaults to the service's when left out of the template.
+                .s3StorageClass(model.getS3StorageClass() != null ? model.getS3StorageClass() : response.s3StorageClassAsString())
+                .tags(userTags)
+                .build();
     }
 
+    /**
+     * @return whether the {@code createWriteThrough} setting has Create assemble the model rather than read it back
+     */
+    private static boolean isWriteThrough() {
+        return HandlerSettings.getBoolean("createWriteThrough", false);
+    }
 }
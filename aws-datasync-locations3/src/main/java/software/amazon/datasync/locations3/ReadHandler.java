@@ -1,5 +1,6 @@
 package software.amazon.datasync.locations3;
 
+import software.amazon.awssdk.services.datasync.DataSyncAsyncClient;
 import software.amazon.awssdk.services.datasync.DataSyncClient;
 import software.amazon.awssdk.services.datasync.model.DataSyncException;
 import software.amazon.awssdk.services.datasync.model.DescribeLocationS3Request;
@@ -15,10 +16,10 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
-    private static final String AWS_CFN_TAG_PREFIX = "aws:cloudformation:";
+    static final ReadCache<DescribeLocationS3Response> READ_CACHE = ReadCache.fromSettings();
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -27,43 +28,111 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
+        if (ClientBuilder.isAsyncMode()) {
+            return AsyncRequestMaker.join(handleRequestAsync(proxy, request));
+        }
+
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        try {
+            return handleRequest(proxy, request, callbackContext, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            // A Read has to complete within one invocation, so running out of time fails it.
+            throw new CfnServiceInternalErrorException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read within the deadline of the calling handler, which handles {@link InvocationDeadline.ExpiredException}.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger,
+        final InvocationDeadline deadline) {
+
         final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
+
+        final ReadCache.Entry<DescribeLocationS3Response> read = READ_CACHE.get(
+                request.getAwsAccountId(), model.getLocationArn(), () -> describeWithTags(proxy, client, model, deadline));
+        final DescribeLocationS3Response response = read.getResponse();
+        final Set<Tag> userTags = read.getUserTags();
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+            .resourceModel(translateFromReadResponse(model, response, userTags))
+            .status(OperationStatus.SUCCESS)
+            .build();
+    }
+
+    /**
+     * Describe the resource and list its user tags.
+     */
+    private static ReadCache.Entry<DescribeLocationS3Response> describeWithTags(
+        final AmazonWebServicesClientProxy proxy,
+        final DataSyncClient client,
+        final ResourceModel model,
+        final InvocationDeadline deadline) {
 
         final DescribeLocationS3Request describeLocationS3Request = Translator.translateToReadRequest(model.getLocationArn());
 
-        DescribeLocationS3Response response;
-        try {
-            response = proxy.injectCredentialsAndInvokeV2(describeLocationS3Request, client::describeLocationS3);
-        } catch (InvalidRequestException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
-        }
+        // Current tags are not supplied by the Describe call and must be retrieved separately. The two
+        // calls only need the ARN, so they run at once.
+        final CompletableFuture<DescribeLocationS3Response> describe = HandlerExecutor.supplyAsync(() -> {
+            try {
+                return deadline.invoke(proxy, describeLocationS3Request, client::describeLocationS3);
+            } catch (InvalidRequestException e) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getLocationArn());
+            } catch (InternalException e) {
+                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+            } catch (DataSyncException e) {
+                throw Translator.translateDataSyncExceptionToCfnException(e);
+            }
+        });
+        final CompletableFuture<Set<Tag>> tags = HandlerExecutor.supplyAsync(
+                () -> TagRequestMaker.listUserTagsForResource(proxy, client, model.getLocationArn(), deadline));
+
+        HandlerExecutor.joinBoth(describe, tags);
+        return ReadCache.entry(HandlerExecutor.join(describe), HandlerExecutor.join(tags));
+    }
+
+    /**
+     * Non-blocking Read: the Describe and ListTagsForResource calls are independent of each other,
+     * so both are issued at once and their results combined when they complete.
+     */
+    CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequestAsync(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request) {
 
-        // Current tags are not supplied by the Describe call and must be retrieved separately
-        final Set<Tag> allTags = TagRequestMaker.listTagsForResource(proxy, client, model.getLocationArn());
-        final Set<Tag> userTags = allTags.stream()
-                .filter(tag -> !tag.getKey().startsWith(AWS_CFN_TAG_PREFIX)) // Filter our system tags on the user tags
-                .collect(Collectors.toSet());
+        final ResourceModel model = request.getDesiredResourceState();
+        final DataSyncAsyncClient client = ClientBuilder.getAsyncClient(request.getRegion());
+
+        return READ_CACHE.getAsync(request.getAwsAccountId(), model.getLocationArn(), () -> {
+            final CompletableFuture<DescribeLocationS3Response> describe =
+                    AsyncRequestMaker.describeLocationS3(proxy, client, model.getLocationArn());
+            final CompletableFuture<Set<Tag>> tags =
+                    AsyncRequestMaker.listUserTagsForResource(proxy, client, model.getLocationArn());
+            return describe.thenCombine(tags, ReadCache::entry);
+        }).thenApply(read -> ProgressEvent.<ResourceModel, CallbackContext>builder()
+            .resourceModel(translateFromReadResponse(model, read.getResponse(), read.getUserTags()))
+            .status(OperationStatus.SUCCESS)
+            .build());
+    }
 
+    private static ResourceModel translateFromReadResponse(
+        final ResourceModel model,
+        final DescribeLocationS3Response response,
+        final Set<Tag> userTags) {
         // Avoid null pointer exception when translating and passing S3Config to model
         final S3Config s3Config;
         s3Config = response.s3Config() == null ? model.getS3Config() : Translator.translateToModelS3Config(response.s3Config());
 
-        ResourceModel returnModel = ResourceModel.builder()
+        return ResourceModel.builder()
                 .locationArn(response.locationArn())
                 .locationUri(response.locationUri())
                 .s3Config(s3Config)
                 .s3StorageClass(response.s3StorageClassAsString())
                 .tags(userTags)
                 .build();
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-            .resourceModel(returnModel)
-            .status(OperationStatus.SUCCESS)
-            .build();
     }
 }
@@ -2,23 +2,27 @@ package software.amazon.datasync.storagesystem;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import software.amazon.awssdk.services.datasync.DataSyncClient;
 import software.amazon.awssdk.services.datasync.model.AddStorageSystemRequest;
 import software.amazon.awssdk.services.datasync.model.AddStorageSystemResponse;
 import software.amazon.awssdk.services.datasync.model.DataSyncException;
+import software.amazon.awssdk.services.datasync.model.DescribeStorageSystemResponse;
 import software.amazon.awssdk.services.datasync.model.InternalException;
 import software.amazon.awssdk.services.datasync.model.InvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class CreateHandler extends BaseHandler<CallbackContext> {
-    private static final String AWS_TAG_PREFIX = "aws:";
     private static final String RESOURCE_ALREADY_EXISTS = "Request references a resource which already exist";
 
     @Override
@@ -32,22 +36,30 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             throw new CfnInvalidRequestException("StorageSystemArn cannot be specified to create a StorageSystem.");
         }
 
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        if (callbackContext != null && request.getDesiredResourceState().getStorageSystemArn() != null) {
+            // Called back after the storage system was created but before it could be read.
+            return readCreatedResource(proxy, request, callbackContext, logger, deadline);
+        }
+
         final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
 
         validateInput(model);
 
-        Map<String, String> tagList = request.getDesiredResourceTags();
-        if (tagList == null) {
-            tagList = new HashMap<String, String>();
+        // Copied, so that the desired tags still hold only the user tags once the system tags are added.
+        final Map<String, String> tagList = new HashMap<String, String>();
+        if (request.getDesiredResourceTags() != null) {
+            tagList.putAll(request.getDesiredResourceTags());
         }
 
         // Check for invalid requested system tags.
         for (String key : tagList.keySet()) {
-            if (key.trim().toLowerCase().startsWith(AWS_TAG_PREFIX)) {
+            if (TagDiff.hasAwsPrefix(key)) {
                 throw new CfnInvalidRequestException(key + " is an invalid key. aws: prefixed tag key names cannot be requested.");
             }
         }
+        TagDiff.checkTagCount(tagList);
 
         //  Retrieve default stack-level tags with aws:cloudformation prefix.
         Map<String, String> systemTagList = request.getSystemTags();
@@ -59,7 +71,13 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
         final AddStorageSystemResponse addStorageSystemResponse;
         try {
-            addStorageSystemResponse = proxy.injectCredentialsAndInvokeV2(addStorageSystemRequest, client::addStorageSystem);
+            addStorageSystemResponse = deadline.invoke(proxy, addStorageSystemRequest, client::addStorageSystem);
+        } catch (InvocationDeadline.ExpiredException e) {
+            if (e.isCallStarted()) {
+                // The outcome is unknown, and creating again on callback could leave a duplicate behind.
+                throw new CfnGeneralServiceException(e.getMessage(), e);
+            }
+            return deadline.inProgress(model, callbackContext);
         } catch (InvalidRequestException e) {
             //To-do: Can be replaced with DescribeCall with ARN created from request. Check via SAM test.
             if ( e.getMessage() != null && e.getMessage().equals(RESOURCE_ALREADY_EXISTS)) {
@@ -69,22 +87,18 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         } catch (InternalException e) {
             throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
         } catch (DataSyncException e) {
+            if (e.isThrottlingException()) {
+                // Nothing was created, so the callback creates the storage system then.
+                return ThrottleCallback.inProgress(model, callbackContext,
+                        Translator.translateDataSyncExceptionToCfnException(e), logger);
+            }
             throw Translator.translateDataSyncExceptionToCfnException(e);
         }
 
-        final ResourceModel modelWithArn = ResourceModel.builder()
-                .storageSystemArn(addStorageSystemResponse.storageSystemArn())
-                .agentArns(model.getAgentArns())
-                .serverConfiguration(model.getServerConfiguration())
-                .serverCredentials(model.getServerCredentials())
-                .systemType(model.getSystemType())
-                .build();
-
-        ResourceHandlerRequest<ResourceModel> requestWithArn = request.toBuilder()
-                .desiredResourceState(modelWithArn)
-                .build();
-
-        return new ReadHandler().handleRequest(proxy, requestWithArn, callbackContext, logger);
+        model.setStorageSystemArn(addStorageSystemResponse.storageSystemArn());
+        // Reads of the new resource go to DataSync, not to a tombstone left under the same ARN.
+        ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), addStorageSystemResponse.storageSystemArn());
+        return readCreatedResource(proxy, request, callbackContext, logger, deadline);
     }
 
     private void validateInput(final ResourceModel model) {
@@ -110,4 +124,87 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             throw new CfnInvalidRequestException("ServerHostname is a required property");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Read the created resource or, if the invocation runs out of time or is throttled first, have
+     * CloudFormation call back to read it then.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> readCreatedResource(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> requestWithArn,
+            final CallbackContext callbackContext,
+            final Logger logger,
+            final InvocationDeadline deadline) {
+        try {
+            if (isWriteThrough()) {
+                return describeCreatedResource(proxy, requestWithArn, deadline);
+            }
+            return new ReadHandler().handleRequest(proxy, requestWithArn, callbackContext, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            return deadline.inProgress(requestWithArn.getDesiredResourceState(), callbackContext);
+        } catch (RuntimeException e) {
+            if (ThrottleCallback.isThrottling(e)) {
+                return ThrottleCallback.inProgress(
+                        requestWithArn.getDesiredResourceState(), callbackContext, e, logger);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Assemble the created resource from the create request instead of reading it back. A single Describe
+     * supplies the fields the service computes, and the tags are the ones just sent, so they are not listed.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> describeCreatedResource(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> requestWithArn,
+            final InvocationDeadline deadline) {
+        final ResourceModel model = requestWithArn.getDesiredResourceState();
+        final DataSyncClient client = ClientBuilder.getClient(requestWithArn.getRegion());
+
+        final DescribeStorageSystemResponse response;
+        try {
+            response = deadline.invoke(proxy, Translator.translateToReadRequest(model.getStorageSystemArn()), client::describeStorageSystem);
+        } catch (InvalidRequestException e) {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getStorageSystemArn());
+        } catch (InternalException e) {
+            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+        } catch (DataSyncException e) {
+            throw Translator.translateDataSyncExceptionToCfnException(e);
+        }
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(translateToCreatedModel(model, response,
+                        TagTranslator.translateMapToTags(requestWithArn.getDesiredResourceTags())))
+                .status(OperationStatus.SUCCESS)
+                .build();
+    }
+
+    private static ResourceModel translateToCreatedModel(
+            final ResourceModel model,
+            final DescribeStorageSystemResponse response,
+            final Set<Tag> userTags) {
+        return ResourceModel.builder()
+                .storageSystemArn(model.getStorageSystemArn())
+                // The port defaults to the service's when left out of the template.
+                .serverConfiguration(model.getServerConfiguration().getServerPort() != null
+                        || response.serverConfiguration() == null
+                        ? model.getServerConfiguration()
+                        : Translator.translateToResourceModelServerConfiguration(response.serverConfiguration()))
+                .secretsManagerArn(response.secretsManagerArn())
+                .systemType(model.getSystemType())
+                .agentArns(model.getAgentArns())
+                .name(model.getName())
+                .connectivityStatus(response.connectivityStatusAsString())
+                .cloudWatchLogGroupArn(model.getCloudWatchLogGroupArn())
+                .tags(userTags)
+                .build();
+    }
+
+    /**
+     * @return whether the {@code createWriteThrough} setting has Create assemble the model rather than read it back
+     */
+    private static boolean isWriteThrough() {
+        return HandlerSettings.getBoolean("createWriteThrough", false);
+    }
+}
@@ -26,7 +26,7 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             final Logger logger) {
 
         final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
 
         return ProgressEvent.progress(model, callbackContext)
                 .then(progress -> {
@@ -41,11 +41,18 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
                         // We don't want to fail remove in the case that a secret does not exist.
                         // We also know that if the describeStorageSystemRequest throws an error related to the secret it means the storage system does exist.
                         if(e.getMessage() == null || (e.getMessage() != null && !e.getMessage().contains("Unable to describe secret associated with StorageSystem"))){
+                            // Already gone, so reads of it can fail at once as well.
+                            ReadHandler.READ_CACHE.markDeleted(request.getAwsAccountId(), model.getStorageSystemArn());
                             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getStorageSystemArn());
                         }
                     } catch (InternalException e) {
                         throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
                     } catch (DataSyncException e) {
+                        if (e.isThrottlingException()) {
+                            // Nothing was deleted, so the callback tries again.
+                            return ThrottleCallback.inProgress(model, callbackContext,
+                                    Translator.translateDataSyncExceptionToCfnException(e), logger);
+                        }
                         throw Translator.translateDataSyncExceptionToCfnException(e);
                     }
 
@@ -56,16 +63,31 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
                 }).then(progress -> {
                     final RemoveStorageSystemRequest removeStorageSystemRequest =
                             Translator.translateToDeleteRequest(model.getStorageSystemArn());
+                    boolean gone = false;
                     try {
                         proxy.injectCredentialsAndInvokeV2(removeStorageSystemRequest, client::removeStorageSystem);
                         logger.log(String.format("%s %s deleted successfully", ResourceModel.TYPE_NAME, model.getStorageSystemArn()));
+                        gone = true;
                     } catch (InvalidRequestException e) {
                         //Covers only the case of StorageSystem delete failing due to active discovery job(s)
                         throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
                     } catch (InternalException e) {
                         throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
                     } catch (DataSyncException e) {
+                        if (e.isThrottlingException()) {
+                            // Nothing was deleted, so the callback tries again.
+                            return ThrottleCallback.inProgress(model, callbackContext,
+                                    Translator.translateDataSyncExceptionToCfnException(e), logger);
+                        }
                         throw Translator.translateDataSyncExceptionToCfnException(e);
+                    } finally {
+                        // Whether or not the delete went through, a cached read may no longer hold. Only a
+                        // resource known to be gone leaves a tombstone.
+                        if (gone) {
+                            ReadHandler.READ_CACHE.markDeleted(request.getAwsAccountId(), model.getStorageSystemArn());
+                        } else {
+                            ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), model.getStorageSystemArn());
+                        }
                     }
 
                     return ProgressEvent.defaultSuccessHandler(null);
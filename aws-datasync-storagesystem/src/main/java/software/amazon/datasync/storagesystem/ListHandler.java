@@ -28,20 +28,9 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             final Logger logger) {
 
         final String nextToken = request.getNextToken();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
 
-        final ListStorageSystemsRequest listStorageSystemsRequest = Translator.translateToListRequest(nextToken);
-
-        final ListStorageSystemsResponse listStorageSystemsResponse;
-        try {
-            listStorageSystemsResponse = proxy.injectCredentialsAndInvokeV2(listStorageSystemsRequest, client::listStorageSystems);
-        } catch (InvalidRequestException e) {
-            throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
-        }
+        final ListStorageSystemsResponse listStorageSystemsResponse = listStorageSystems(proxy, client, nextToken);
 
         final List<ResourceModel> models = new ArrayList<>();
         for (StorageSystemListEntry storageSystemListEntry: listStorageSystemsResponse.storageSystems()) {
@@ -52,10 +41,53 @@ public class ListHandler extends BaseHandler<CallbackContext> {
             models.add(model);
         }
 
+        if (ListEnricher.isEnabled()) {
+            return enriched(proxy, request, logger, models, listStorageSystemsResponse.nextToken());
+        }
+
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModels(models)
                 .status(OperationStatus.SUCCESS)
                 .nextToken(listStorageSystemsResponse.nextToken())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Answer with the full model of each listed resource, read within the time of this invocation.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> enriched(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final Logger logger,
+            final List<ResourceModel> listed,
+            final String nextToken) {
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        final ListEnricher.Page page = ListEnricher.enrich(listed, ResourceModel::getStorageSystemArn,
+                model -> new ReadHandler().handleRequest(
+                        proxy, ListEnricher.toReadRequest(request, model), null, logger, deadline).getResourceModel(),
+                logger);
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModels(page.getModels())
+                .message(page.getMessage())
+                .status(OperationStatus.SUCCESS)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private static ListStorageSystemsResponse listStorageSystems(
+            final AmazonWebServicesClientProxy proxy,
+            final DataSyncClient client,
+            final String nextToken) {
+        final ListStorageSystemsRequest listStorageSystemsRequest = Translator.translateToListRequest(nextToken);
+        try {
+            return proxy.injectCredentialsAndInvokeV2(listStorageSystemsRequest, client::listStorageSystems);
+        } catch (InvalidRequestException e) {
+            throw new CfnInvalidRequestException(e.getMessage(), e.getCause());
+        } catch (InternalException e) {
+            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+        } catch (DataSyncException e) {
+            throw Translator.translateDataSyncExceptionToCfnException(e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import software.amazon.awssdk.services.datasync.model.DescribeStorageSystemReque
 import software.amazon.awssdk.services.datasync.model.DescribeStorageSystemResponse;
 import software.amazon.awssdk.services.datasync.model.InternalException;
 import software.amazon.awssdk.services.datasync.model.InvalidRequestException;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.datasync.model.RemoveStorageSystemRequest;
 import software.amazon.awssdk.services.datasync.model.RemoveStorageSystemResponse;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
@@ -29,6 +30,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest {
@@ -227,6 +230,32 @@ public class DeleteHandlerTest {
         });
     }
 
+    @Test
+    public void handleRequest_ThenRead_FailsWithoutCallingDataSync() {
+        final String ttl = System.getProperty("datasync.tombstoneTtl");
+        System.setProperty("datasync.tombstoneTtl", "60000");
+        ReadHandler.READ_CACHE.clear();
+        try {
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                    .awsAccountId("123456789012")
+                    .desiredResourceState(buildDefaultModel())
+                    .build();
+
+            new DeleteHandler().handleRequest(proxy, request, null, logger);
+
+            assertThrows(CfnNotFoundException.class, () -> new ReadHandler().handleRequest(proxy, request, null, logger));
+            verify(proxy, never()).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+            assertThat(ReadHandler.READ_CACHE.getTombstoneHitCount()).isEqualTo(1);
+        } finally {
+            if (ttl == null) {
+                System.clearProperty("datasync.tombstoneTtl");
+            } else {
+                System.setProperty("datasync.tombstoneTtl", ttl);
+            }
+            ReadHandler.READ_CACHE.clear();
+        }
+    }
+
     private static ResourceModel buildDefaultModel() {
         final String storageSystemArn = "arn:aws:datasync:us-east-1:012345678901:system/storage-system-01234567-0123-b123-a123-da1234567890";
         return ResourceModel.builder()
@@ -1,5 +1,6 @@
 package software.amazon.datasync.task;
 
+import software.amazon.awssdk.services.datasync.DataSyncAsyncClient;
 import software.amazon.awssdk.services.datasync.DataSyncClient;
 import software.amazon.awssdk.services.datasync.model.DataSyncException;
 import software.amazon.awssdk.services.datasync.model.DescribeTaskRequest;
@@ -15,10 +16,10 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
-    private static final String AWS_CFN_TAG_PREFIX = "aws:cloudformation:";
+    static final ReadCache<DescribeTaskResponse> READ_CACHE = ReadCache.fromSettings();
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -27,30 +28,97 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
+        if (ClientBuilder.isAsyncMode()) {
+            return AsyncRequestMaker.join(handleRequestAsync(proxy, request));
+        }
+
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        try {
+            return handleRequest(proxy, request, callbackContext, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            // A Read has to complete within one invocation, so running out of time fails it.
+            throw new CfnServiceInternalErrorException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read within the deadline of the calling handler, which handles {@link InvocationDeadline.ExpiredException}.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger,
+        final InvocationDeadline deadline) {
+
         final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
+
+        final ReadCache.Entry<DescribeTaskResponse> read = READ_CACHE.get(
+                request.getAwsAccountId(), model.getTaskArn(), () -> describeWithTags(proxy, client, model, deadline));
+        final DescribeTaskResponse response = read.getResponse();
+        final Set<Tag> userTags = read.getUserTags();
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+            .resourceModel(translateFromReadResponse(response, userTags))
+            .status(OperationStatus.SUCCESS)
+            .build();
+    }
+
+    /**
+     * Describe the resource and list its user tags.
+     */
+    private static ReadCache.Entry<DescribeTaskResponse> describeWithTags(
+        final AmazonWebServicesClientProxy proxy,
+        final DataSyncClient client,
+        final ResourceModel model,
+        final InvocationDeadline deadline) {
 
         final DescribeTaskRequest describeTaskRequest = Translator.translateToReadRequest(model.getTaskArn());
 
-        DescribeTaskResponse response;
-        try {
-            response = proxy.injectCredentialsAndInvokeV2(describeTaskRequest, client::describeTask);
-        } catch (InvalidRequestException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getTaskArn());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
-        }
+        // Current tags are not supplied by the Describe call and must be retrieved separately. The two
+        // calls only need the ARN, so they run at once.
+        final CompletableFuture<DescribeTaskResponse> describe = HandlerExecutor.supplyAsync(() -> {
+            try {
+                return deadline.invoke(proxy, describeTaskRequest, client::describeTask);
+            } catch (InvalidRequestException e) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getTaskArn());
+            } catch (InternalException e) {
+                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+            } catch (DataSyncException e) {
+                throw Translator.translateDataSyncExceptionToCfnException(e);
+            }
+        });
+        final CompletableFuture<Set<Tag>> tags = HandlerExecutor.supplyAsync(
+                () -> TagRequestMaker.listUserTagsForResource(proxy, client, model.getTaskArn(), deadline));
+
+        HandlerExecutor.joinBoth(describe, tags);
+        return ReadCache.entry(HandlerExecutor.join(describe), HandlerExecutor.join(tags));
+    }
 
-        // Current tags are not supplied by the Describe call and must be retrieved separately
-        final Set<Tag> allTags = TagRequestMaker.listTagsForResource(proxy, client, model.getTaskArn());
-        final Set<Tag> userTags = allTags.stream()
-                .filter(tag -> !tag.getKey().startsWith(AWS_CFN_TAG_PREFIX)) // Filter our system tags on the user tags
-                .collect(Collectors.toSet());
+    /**
+     * Non-blocking Read: the Describe and ListTagsForResource calls are independent of each other,
+     * so both are issued at once and their results combined when they complete.
+     */
+    CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequestAsync(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request) {
 
+        final String taskArn = request.getDesiredResourceState().getTaskArn();
+        final DataSyncAsyncClient client = ClientBuilder.getAsyncClient(request.getRegion());
 
-        ResourceModel returnModel = ResourceModel.builder()
+        return READ_CACHE.getAsync(request.getAwsAccountId(), taskArn, () -> {
+            final CompletableFuture<DescribeTaskResponse> describe = AsyncRequestMaker.describeTask(proxy, client, taskArn);
+            final CompletableFuture<Set<Tag>> tags = AsyncRequestMaker.listUserTagsForResource(proxy, client, taskArn);
+            return describe.thenCombine(tags, ReadCache::entry);
+        }).thenApply(read -> ProgressEvent.<ResourceModel, CallbackContext>builder()
+            .resourceModel(translateFromReadResponse(read.getResponse(), read.getUserTags()))
+            .status(OperationStatus.SUCCESS)
+            .build());
+    }
+
+    private static ResourceModel translateFromReadResponse(final DescribeTaskResponse response, final Set<Tag> userTags) {
+        return ResourceModel.builder()
                 .cloudWatchLogGroupArn(response.cloudWatchLogGroupArn())
                 .taskArn(response.taskArn())
                 .destinationLocationArn(response.destinationLocationArn())
@@ -67,10 +135,5 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 .destinationNetworkInterfaceArns(response.destinationNetworkInterfaceArns())
                 .tags(userTags)
                 .build();
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-            .resourceModel(returnModel)
-            .status(OperationStatus.SUCCESS)
-            .build();
     }
 }
@@ -1,5 +1,6 @@
 package software.amazon.datasync.task;
 
+import software.amazon.awssdk.services.datasync.DataSyncAsyncClient;
 import software.amazon.awssdk.services.datasync.DataSyncClient;
 
 import software.amazon.awssdk.services.datasync.model.DataSyncException;
@@ -15,6 +16,8 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
@@ -25,26 +28,95 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        final ResourceModel model = request.getDesiredResourceState();
-        final DataSyncClient client = ClientBuilder.getClient();
+        final InvocationDeadline deadline = InvocationDeadline.start();
+        final CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        try {
+            return updateResource(proxy, request, context, logger, deadline);
+        } catch (InvocationDeadline.ExpiredException e) {
+            // The steps already done are recorded in the context, so only the rest runs again on callback.
+            return deadline.inProgress(request.getDesiredResourceState(), context);
+        } catch (RuntimeException e) {
+            // A failed update may still have changed part of the resource.
+            ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), request.getDesiredResourceState().getTaskArn());
+            if (ThrottleCallback.isThrottling(e)) {
+                return ThrottleCallback.inProgress(request.getDesiredResourceState(), context, e, logger);
+            }
+            throw e;
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> updateResource(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger,
+        final InvocationDeadline deadline) {
 
+        final ResourceModel model = request.getDesiredResourceState();
         UpdateTaskRequest updateTaskRequest = Translator.translateToUpdateRequest(model);
 
-        try {
-            proxy.injectCredentialsAndInvokeV2(updateTaskRequest, client::updateTask);
-            logger.log(String.format("%s %s updated successfully.", ResourceModel.TYPE_NAME, model.getTaskArn()));
-        } catch (InvalidRequestException e) {
-            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getTaskArn());
-        } catch (InternalException e) {
-            throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
-        } catch (DataSyncException e) {
-            throw Translator.translateDataSyncExceptionToCfnException(e);
+        if (ClientBuilder.isAsyncMode()) {
+            return AsyncRequestMaker.join(handleRequestAsync(proxy, request, callbackContext, updateTaskRequest, logger));
         }
 
-        // Tags are not handled by the Update call and must be updated separately
-        TagRequestMaker.updateTagsForResource(proxy, client, model.getTaskArn(), request, logger);
+        final DataSyncClient client = ClientBuilder.getClient(request.getRegion());
+
+        if (!callbackContext.isResourceUpdated()) {
+            try {
+                deadline.invoke(proxy, updateTaskRequest, client::updateTask);
+                callbackContext.setResourceUpdated(true);
+                logger.log(String.format("%s %s updated successfully.", ResourceModel.TYPE_NAME, model.getTaskArn()));
+            } catch (InvalidRequestException e) {
+                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getTaskArn());
+            } catch (InternalException e) {
+                throw new CfnServiceInternalErrorException(e.getMessage(), e.getCause());
+            } catch (DataSyncException e) {
+                throw Translator.translateDataSyncExceptionToCfnException(e);
+            }
+        }
+
+        // Tags are not handled by the Update call and must be updated separately. They are changed
+        // only once the Update call has succeeded, so a rejected update leaves the resource as it was.
+        if (!callbackContext.isTagsUpdated()) {
+            TagRequestMaker.updateTagsForResource(proxy, client, model.getTaskArn(), request, logger, deadline);
+            callbackContext.setTagsUpdated(true);
+        }
+
+        // Read back the changes rather than a read cached before them.
+        ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), model.getTaskArn());
+
+        return new ReadHandler().handleRequest(proxy, request, callbackContext, logger, deadline);
+    }
+
+    private CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequestAsync(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final UpdateTaskRequest updateTaskRequest,
+        final Logger logger) {
+        final String taskArn = request.getDesiredResourceState().getTaskArn();
+        final DataSyncAsyncClient client = ClientBuilder.getAsyncClient(request.getRegion());
 
-        return new ReadHandler().handleRequest(proxy, request, callbackContext, logger);
+        final CompletableFuture<Void> update = callbackContext.isResourceUpdated()
+            ? CompletableFuture.completedFuture(null)
+            : proxy.injectCredentialsAndInvokeV2Async(updateTaskRequest, client::updateTask)
+                .<Void>handle((response, throwable) -> {
+                    if (throwable != null) {
+                        throw AsyncRequestMaker.translateNotFound(throwable, taskArn);
+                    }
+                    callbackContext.setResourceUpdated(true);
+                    logger.log(String.format("%s %s updated successfully.", ResourceModel.TYPE_NAME, taskArn));
+                    return null;
+                });
+        return update
+            .thenCompose(ignored -> callbackContext.isTagsUpdated()
+                ? CompletableFuture.<Void>completedFuture(null)
+                : AsyncRequestMaker.updateTagsForResource(proxy, client, taskArn, request, logger)
+                    .thenRun(() -> callbackContext.setTagsUpdated(true)))
+            .thenCompose(ignored -> {
+                ReadHandler.READ_CACHE.invalidate(request.getAwsAccountId(), taskArn);
+                return new ReadHandler().handleRequestAsync(proxy, request);
+            });
     }
 
 }
@@ -0,0 +1,174 @@
+package software.amazon.datasync.task;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load-tests the retry behaviour against a local stand-in for DataSync that throttles every call above
+ * {@code benchmark.serverTps} calls a second (default 20). {@code benchmark.clients} threads (default 16)
+ * list tags as fast as they can for {@code benchmark.seconds} (default 10), first with a client using the
+ * SDK's default retry policy and then with a pooled client using {@link AdaptiveRetry}. For each it reports
+ * the calls that succeeded and failed, the attempts the stand-in saw and how many it throttled, and the rate
+ * of successful calls; for the adaptive client also the rate the shared limiter settled at. Not part of the
+ * default test run; run it with {@code mvn test -Dtest=AdaptiveRetryBenchmark}. The limiter's default of 20
+ * calls a second is the stand-in's own rate, so the benchmark starts it at 25 to have it adapt; pass for example
+ * {@code -Ddatasync.rateLimit=50} to start it higher.
+ */
+public class AdaptiveRetryBenchmark {
+    static {
+        // Before the limiter is first used, as it reads its settings once.
+        if (System.getProperty("datasync.rateLimit") == null) {
+            System.setProperty("datasync.rateLimit", "25");
+        }
+    }
+
+    private static final int SERVER_TPS = Integer.getInteger("benchmark.serverTps", 20);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 16);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+    private static final String REGION = "us-east-1";
+    private static final String RESOURCE_ARN = "arn:aws:datasync:us-east-1:123456789012:task/task-01234567890123456";
+    private static final byte[] THROTTLED = "{\"__type\":\"ThrottlingException\",\"message\":\"Rate exceeded\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TAGS = "{\"Tags\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private long windowSecond;
+    private int windowCalls;
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private String endpoint;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", this::respond);
+        server.start();
+        endpoint = "http://localhost:" + server.getAddress().getPort();
+        System.setProperty("datasync.endpointOverride", endpoint);
+        ClientBuilder.closeClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        System.clearProperty("datasync.endpointOverride");
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void compareRetryPolicies() throws Exception {
+        System.out.println(String.format("stand-in limit %d calls/s, %d clients, %d s, limiter starting at %.1f calls/s",
+                SERVER_TPS, CLIENTS, SECONDS, AdaptiveRetry.getRate()));
+        System.out.println(String.format("%-10s %10s %10s %10s %10s %10s %12s", "policy", "succeeded", "failed",
+                "attempts", "throttled", "ok/s", "limiter/s"));
+
+        final DataSyncClient sdkDefault = DataSyncClient.builder()
+                .httpClient(ClientBuilder.getHttpClient())
+                .region(Region.of(REGION))
+                .endpointOverride(URI.create(endpoint))
+                .build();
+        try {
+            run("default", sdkDefault, false);
+        } finally {
+            sdkDefault.close();
+        }
+        run("adaptive", ClientBuilder.getClient(REGION), true);
+    }
+
+    private void run(final String policy, final DataSyncClient client, final boolean adaptive) throws Exception {
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+                new LoggerProxy(), new Credentials("akid", "secret", "token"), () -> TimeUnit.MINUTES.toMillis(1));
+        final ListTagsForResourceRequest request = ListTagsForResourceRequest.builder().resourceArn(RESOURCE_ARN).build();
+        final AtomicLong succeeded = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        attempts.set(0);
+        throttled.set(0);
+
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        final List<Callable<Object>> callers = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            callers.add(() -> {
+                while (System.nanoTime() < end) {
+                    try {
+                        proxy.injectCredentialsAndInvokeV2(request, client::listTagsForResource);
+                        succeeded.incrementAndGet();
+                    } catch (SdkException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        final ExecutorService invokers = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            invokers.invokeAll(callers);
+        } finally {
+            invokers.shutdownNow();
+        }
+
+        assertThat(succeeded.get()).isPositive();
+        System.out.println(String.format("%-10s %10d %10d %10d %10d %10.1f %12s", policy, succeeded.get(),
+                failed.get(), attempts.get(), throttled.get(), succeeded.get() / (double) SECONDS,
+                adaptive ? String.format("%.1f", AdaptiveRetry.getRate()) : "-"));
+    }
+
+    // Throttles every call past the limit within each second.
+    private synchronized boolean admit() {
+        final long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        if (second != windowSecond) {
+            windowSecond = second;
+            windowCalls = 0;
+        }
+        return ++windowCalls <= SERVER_TPS;
+    }
+
+    private void respond(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[4096];
+            while (body.read(buffer) != -1) {
+                // drain the request so the connection can be reused
+            }
+        }
+        attempts.incrementAndGet();
+        final boolean admitted = admit();
+        if (!admitted) {
+            throttled.incrementAndGet();
+        }
+        final byte[] response = admitted ? TAGS : THROTTLED;
+        exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.1");
+        exchange.sendResponseHeaders(admitted ? 200 : 400, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package software.amazon.datasync.task;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.datasync.model.DataSyncException;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AdaptiveRetryTest {
+    private static final String REGION = "us-east-1";
+    private static final String RESOURCE_ARN = "arn:aws:datasync:us-east-1:123456789012:resource/id";
+    private static final byte[] THROTTLED = "{\"__type\":\"ThrottlingException\",\"message\":\"Rate exceeded\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TAGS = "{\"Tags\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final List<String> records = new CopyOnWriteArrayList<>();
+    private volatile int throttledAttempts;
+    private HttpServer server;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::respond);
+        server.start();
+        System.setProperty("datasync.endpointOverride", "http://localhost:" + server.getAddress().getPort());
+        System.setProperty("datasync.retryThrottledBaseDelay", "1");
+        System.setProperty("datasync.retryBaseDelay", "1");
+        AdaptiveRetry.setMetricsSink(records::add);
+        ClientBuilder.closeClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        System.clearProperty("datasync.endpointOverride");
+        System.clearProperty("datasync.retryThrottledBaseDelay");
+        System.clearProperty("datasync.retryBaseDelay");
+        System.clearProperty("datasync.retryMaxRetries");
+        System.clearProperty("datasync.retryMetricsInterval");
+        System.clearProperty("datasync.retryMetrics");
+        AdaptiveRetry.setMetricsSink(System.out::println);
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void throttledAttempts_AreRetriedAndCounted() {
+        throttledAttempts = 2;
+        final long retries = AdaptiveRetry.getRetryCount();
+        final long throttles = AdaptiveRetry.getThrottleCount();
+
+        listTags();
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(AdaptiveRetry.getRetryCount() - retries).isEqualTo(2);
+        assertThat(AdaptiveRetry.getThrottleCount() - throttles).isEqualTo(2);
+    }
+
+    @Test
+    public void throttledPastRetries_FailsWithThrottling() {
+        System.setProperty("datasync.retryMaxRetries", "1");
+        throttledAttempts = Integer.MAX_VALUE;
+        final long throttles = AdaptiveRetry.getThrottleCount();
+
+        final DataSyncException e = assertThrows(DataSyncException.class, this::listTags);
+
+        assertThat(e.isThrottlingException()).isTrue();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(AdaptiveRetry.getThrottleCount() - throttles).isEqualTo(2);
+        // Throttling shrinks the shared limit from its default of 20 calls a second.
+        assertThat(AdaptiveRetry.getRate()).isLessThan(20.0);
+    }
+
+    @Test
+    public void completedCall_MetricsOff_ReportsNothing() {
+        System.setProperty("datasync.retryMetricsInterval", "0");
+
+        listTags();
+
+        assertThat(records).isEmpty();
+    }
+
+    @Test
+    public void completedCall_ReportsMetricsWhenDue() {
+        System.setProperty("datasync.retryMetrics", "true");
+        System.setProperty("datasync.retryMetricsInterval", "0");
+
+        listTags();
+
+        assertThat(records).isNotEmpty();
+        assertThat(records.get(records.size() - 1))
+                .startsWith("{\"_aws\":")
+                .contains("\"TypeName\":\"" + ResourceModel.TYPE_NAME + "\"")
+                .contains("\"RateLimit\":");
+    }
+
+    @Test
+    public void metricsRecord_IsEmbeddedMetricFormat() {
+        assertThat(AdaptiveRetry.metricsRecord(1000, 12.5, 3, 2)).isEqualTo("{\"_aws\":{\"Timestamp\":1000,"
+                + "\"CloudWatchMetrics\":[{\"Namespace\":\"DataSyncResourceProviders\",\"Dimensions\":[[\"TypeName\"]],"
+                + "\"Metrics\":[{\"Name\":\"RateLimit\",\"Unit\":\"Count/Second\"},{\"Name\":\"Retries\",\"Unit\":\"Count\"},"
+                + "{\"Name\":\"Throttles\",\"Unit\":\"Count\"}]}]},\"TypeName\":\"" + ResourceModel.TYPE_NAME + "\","
+                + "\"RateLimit\":12.50,\"Retries\":3,\"Throttles\":2}");
+    }
+
+    private ListTagsForResourceResponse listTags() {
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+                new LoggerProxy(), new Credentials("akid", "secret", "token"), () -> TimeUnit.MINUTES.toMillis(1));
+        return proxy.injectCredentialsAndInvokeV2(ListTagsForResourceRequest.builder().resourceArn(RESOURCE_ARN).build(),
+                ClientBuilder.getClient(REGION)::listTagsForResource);
+    }
+
+    private void respond(final HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[4096];
+            while (body.read(buffer) != -1) {
+                // drain the request so the connection can be reused
+            }
+        }
+        final boolean throttled = attempts.incrementAndGet() <= throttledAttempts;
+        final byte[] response = throttled ? THROTTLED : TAGS;
+        exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.1");
+        exchange.sendResponseHeaders(throttled ? 400 : 200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+}
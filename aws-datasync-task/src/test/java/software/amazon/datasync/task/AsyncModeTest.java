@@ -0,0 +1,241 @@
+package software.amazon.datasync.task;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.datasync.model.*;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AsyncModeTest {
+    private static final String CLIENT_MODE_PROPERTY = "datasync.clientMode";
+    private static final String REGION = "us-east-1";
+    private static final long CALL_LATENCY_MILLIS = 200;
+
+    private AmazonWebServicesClientProxy proxy;
+    private Logger logger;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+        System.setProperty(CLIENT_MODE_PROPERTY, "async");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(CLIENT_MODE_PROPERTY);
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void read_SimpleSuccess() {
+        stubAsync(request -> CompletableFuture.completedFuture(respond(request)));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new ReadHandler().handleRequest(proxy, buildRequest(buildDefaultModel()), null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getTaskArn()).isEqualTo(buildDefaultResponse().taskArn());
+        assertThat(response.getResourceModel().getTags()).isEqualTo(TagTestResources.defaultTags);
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(), any());
+    }
+
+    @Test
+    public void read_FailureNotFoundRequest() {
+        stubAsync(request -> failed(InvalidRequestException.builder().message("not found").build()));
+
+        assertThrows(CfnNotFoundException.class, () -> {
+            new ReadHandler().handleRequest(proxy, buildRequest(buildDefaultModel()), null, logger);
+        });
+    }
+
+    @Test
+    public void read_FailureDataSyncException() {
+        stubAsync(request -> failed(DataSyncException.builder().message("failure").build()));
+
+        assertThrows(CfnGeneralServiceException.class, () -> {
+            new ReadHandler().handleRequest(proxy, buildRequest(buildDefaultModel()), null, logger);
+        });
+    }
+
+    @Test
+    public void create_SimpleSuccess() {
+        stubAsync(request -> CompletableFuture.completedFuture(respond(request)));
+
+        final ResourceModel model = ResourceModel.builder()
+                .sourceLocationArn(buildDefaultResponse().sourceLocationArn())
+                .destinationLocationArn(buildDefaultResponse().destinationLocationArn())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new CreateHandler().handleRequest(proxy, buildRequest(model), null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getTaskArn()).isEqualTo(buildDefaultResponse().taskArn());
+        verify(proxy).injectCredentialsAndInvokeV2Async(any(CreateTaskRequest.class), any());
+        verify(proxy).injectCredentialsAndInvokeV2Async(any(DescribeTaskRequest.class), any());
+    }
+
+    @Test
+    public void create_FailureInvalidRequest() {
+        stubAsync(request -> failed(InvalidRequestException.builder().message("invalid").build()));
+
+        assertThrows(CfnInvalidRequestException.class, () -> {
+            new CreateHandler().handleRequest(proxy, buildRequest(ResourceModel.builder().build()), null, logger);
+        });
+    }
+
+    @Test
+    public void update_TagUpdateSuccess() {
+        stubAsync(request -> CompletableFuture.completedFuture(respond(request)));
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .region(REGION)
+                .previousResourceState(buildDefaultModel())
+                .previousResourceTags(TagTranslator.translateTagsToMap(TagTestResources.defaultTags))
+                .desiredResourceState(buildDefaultModel())
+                .desiredResourceTags(TagTranslator.translateTagsToMap(TagTestResources.updatedTags))
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new UpdateHandler().handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvokeV2Async(any(UpdateTaskRequest.class), any());
+        verify(proxy).injectCredentialsAndInvokeV2Async(any(UntagResourceRequest.class), any());
+        verify(proxy).injectCredentialsAndInvokeV2Async(any(TagResourceRequest.class), any());
+    }
+
+    @Test
+    public void update_FailureNotFoundRequest() {
+        stubAsync(request -> failed(InvalidRequestException.builder().message("not found").build()));
+
+        assertThrows(CfnNotFoundException.class, () -> {
+            new UpdateHandler().handleRequest(proxy, buildRequest(buildDefaultModel()), null, logger);
+        });
+    }
+
+    /**
+     * Compare the wall-clock latency of Read in both modes against the same per-call service latency.
+     * The blocking pipeline pays for Describe and ListTagsForResource one after the other, while the
+     * async pipeline overlaps them.
+     */
+    @Test
+    public void read_AsyncModeOverlapsServiceLatency() {
+        final ExecutorService service = Executors.newCachedThreadPool();
+        try {
+            doAnswer(invocation -> {
+                sleep(CALL_LATENCY_MILLIS);
+                return respond(invocation.getArgument(0));
+            }).when(proxy).injectCredentialsAndInvokeV2(any(), any());
+            stubAsync(request -> CompletableFuture.supplyAsync(() -> {
+                sleep(CALL_LATENCY_MILLIS);
+                return respond(request);
+            }, service));
+
+            final ResourceHandlerRequest<ResourceModel> request = buildRequest(buildDefaultModel());
+
+            System.setProperty(CLIENT_MODE_PROPERTY, "sync");
+            final long syncMillis = timeRead(request);
+
+            System.setProperty(CLIENT_MODE_PROPERTY, "async");
+            final long asyncMillis = timeRead(request);
+
+            assertThat(syncMillis).isGreaterThanOrEqualTo(2 * CALL_LATENCY_MILLIS);
+            assertThat(asyncMillis).isLessThan(syncMillis);
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    private long timeRead(final ResourceHandlerRequest<ResourceModel> request) {
+        final long start = System.nanoTime();
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = new ReadHandler().handleRequest(proxy, request, null, logger);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void stubAsync(final Function<AwsRequest, CompletableFuture<AwsResponse>> answer) {
+        doAnswer(invocation -> answer.apply(invocation.getArgument(0)))
+                .when(proxy)
+                .injectCredentialsAndInvokeV2Async(any(), any());
+    }
+
+    private static AwsResponse respond(final AwsRequest request) {
+        if (request instanceof CreateTaskRequest) {
+            return CreateTaskResponse.builder().taskArn(buildDefaultResponse().taskArn()).build();
+        } else if (request instanceof ListTagsForResourceRequest) {
+            return TagTestResources.buildDefaultTagsResponse();
+        } else if (request instanceof UpdateTaskRequest) {
+            return UpdateTaskResponse.builder().build();
+        } else if (request instanceof TagResourceRequest) {
+            return TagResourceResponse.builder().build();
+        } else if (request instanceof UntagResourceRequest) {
+            return UntagResourceResponse.builder().build();
+        }
+        return buildDefaultResponse();
+    }
+
+    private static CompletableFuture<AwsResponse> failed(final Throwable cause) {
+        final CompletableFuture<AwsResponse> future = new CompletableFuture<>();
+        future.completeExceptionally(cause);
+        return future;
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> buildRequest(final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .region(REGION)
+                .desiredResourceState(model)
+                .build();
+    }
+
+    private static DescribeTaskResponse buildDefaultResponse() {
+        final String taskArn = "arn:aws:datasync:us-east-2:123456789012:task/task-01234567890123456";
+        final String destinationLocationArn =
+                "arn:aws:datasync:us-east-1:123456789012:location/loc-12345678901234567";
+        final String sourceLocationArn =
+                "arn:aws:datasync:us-east-1:123456789012:location/loc-12345678901234567";
+        return DescribeTaskResponse.builder()
+                .taskArn(taskArn)
+                .destinationLocationArn(destinationLocationArn)
+                .sourceLocationArn(sourceLocationArn)
+                .build();
+    }
+
+    private static ResourceModel buildDefaultModel() {
+        final String taskArn = "arn:aws:datasync:us-east-2:123456789012:task/task-01234567890123456";
+        return ResourceModel.builder()
+                .taskArn(taskArn)
+                .tags(TagTestResources.defaultTags)
+                .build();
+    }
+}
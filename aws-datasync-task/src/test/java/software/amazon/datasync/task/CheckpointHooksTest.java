@@ -0,0 +1,76 @@
+package software.amazon.datasync.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.cloudformation.LambdaWrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheckpointHooksTest {
+    private static final String REGION = "us-east-1";
+
+    private final CheckpointHooks hooks = new CheckpointHooks();
+
+    @BeforeEach
+    public void setup() {
+        HandlerPrimer.reset();
+        ClientBuilder.closeClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        HandlerPrimer.reset();
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void beforeCheckpoint_PrimesAndClosesPooledClients() {
+        ClientBuilder.getClient(REGION);
+
+        hooks.beforeCheckpoint(null);
+
+        assertThat(HandlerPrimer.prime(false)).isFalse();
+        assertThat(ClientBuilder.getPool().size()).isEqualTo(0);
+    }
+
+    @Test
+    public void afterRestore_RebuildsClientForFunctionRegion() {
+        final DataSyncClient beforeCheckpoint = ClientBuilder.getClient(REGION);
+
+        hooks.beforeCheckpoint(null);
+        hooks.afterRestore(null);
+
+        assertThat(ClientBuilder.getPool().size()).isEqualTo(1);
+        assertThat(ClientBuilder.getClient(REGION)).isNotSameAs(beforeCheckpoint);
+    }
+
+    @Test
+    public void afterRestore_ClosesClientsBuiltAfterCheckpoint() {
+        hooks.beforeCheckpoint(null);
+        final DataSyncClient afterCheckpoint = ClientBuilder.getClient(REGION);
+
+        hooks.afterRestore(null);
+
+        assertThat(ClientBuilder.getClient(REGION)).isNotSameAs(afterCheckpoint);
+    }
+
+    @Test
+    public void resetConnections_WrapperTransport_MovesToHandlerOwnedHttpClient() {
+        assertThat(HttpTransportProfile.fromSettings()).isEqualTo(HttpTransportProfile.WRAPPER);
+
+        ClientBuilder.resetConnections();
+        final Object owned = ClientBuilder.getHttpClient();
+        ClientBuilder.resetConnections();
+
+        assertThat(owned).isNotSameAs(LambdaWrapper.HTTP_CLIENT);
+        assertThat(ClientBuilder.getHttpClient()).isNotSameAs(owned).isNotSameAs(LambdaWrapper.HTTP_CLIENT);
+    }
+
+    @Test
+    public void register_RegistersOnce() {
+        CheckpointHooks.register();
+        CheckpointHooks.register();
+    }
+}
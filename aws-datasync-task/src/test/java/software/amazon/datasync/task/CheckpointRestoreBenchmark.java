@@ -0,0 +1,116 @@
+package software.amazon.datasync.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the wall-clock time from launching a JVM to the first successful {@link ReadHandler} response,
+ * using {@link LocalHandlerRun} as the probe, for a cold start, a primed start, and a start that runs the
+ * {@link CheckpointHooks} callbacks in-process. Not part of the default test run; run it with
+ * {@code mvn test -Dtest=CheckpointRestoreBenchmark}, optionally with {@code -Dbenchmark.runs}.
+ *
+ * <p>To measure an actual restore, pass {@code -Dbenchmark.cracJava} with the {@code java} launcher of a
+ * JDK with checkpoint support (for example Azul Zulu with CRaC). Each run then takes a checkpoint into
+ * {@code target/crac-checkpoint} and times the restore from it.
+ */
+public class CheckpointRestoreBenchmark {
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 5);
+    private static final String CHECKPOINT_DIRECTORY = "target/crac-checkpoint";
+
+    @Test
+    public void compareStartup() throws Exception {
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        System.out.println(String.format("%-22s %24s %16s", "mode", "launch to first Read (ms)", "first Read (ms)"));
+
+        report("cold", () -> run(command(java), "cold"));
+        report("primed", () -> run(command(java), "primed"));
+        report("checkpoint hooks", () -> run(command(java), "checkpoint"));
+
+        final String cracJava = System.getProperty("benchmark.cracJava");
+        if (cracJava != null) {
+            report("restore", () -> {
+                final List<String> checkpoint = command(cracJava);
+                checkpoint.add(1, "-XX:CRaCCheckpointTo=" + CHECKPOINT_DIRECTORY);
+                final Process process = new ProcessBuilder(append(checkpoint, "checkpoint"))
+                        .redirectErrorStream(true)
+                        .redirectOutput(new File(CHECKPOINT_DIRECTORY + ".log"))
+                        .start();
+                assertThat(process.waitFor(2, TimeUnit.MINUTES)).isTrue();
+                return run(new ArrayList<>(Arrays.asList(cracJava, "-XX:CRaCRestoreFrom=" + CHECKPOINT_DIRECTORY)));
+            });
+        }
+    }
+
+    private static void report(final String mode, final Probe probe) throws Exception {
+        final List<long[]> results = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            results.add(probe.run());
+        }
+        System.out.println(String.format("%-22s %24d %16d", mode, median(results, 0), median(results, 1)));
+    }
+
+    private static List<String> command(final String java) {
+        return new ArrayList<>(Arrays.asList(java, "-cp", System.getProperty("java.class.path"),
+                LocalHandlerRun.class.getName()));
+    }
+
+    private static List<String> append(final List<String> command, final String argument) {
+        final List<String> appended = new ArrayList<>(command);
+        appended.add(argument);
+        return appended;
+    }
+
+    private static long[] run(final List<String> command, final String mode) throws IOException, InterruptedException {
+        return run(append(command, mode));
+    }
+
+    /**
+     * @return the time from launch to the probe's result line, and the probe's first Read latency
+     */
+    private static long[] run(final List<String> command) throws IOException, InterruptedException {
+        final long launch = System.nanoTime();
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+        long[] result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(LocalHandlerRun.RESULT_PREFIX) && result == null) {
+                    final long firstRead = Long.parseLong(line.substring(LocalHandlerRun.RESULT_PREFIX.length()).split(" ")[1]);
+                    result = new long[] {TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launch), firstRead};
+                }
+            }
+        }
+        assertThat(process.waitFor(2, TimeUnit.MINUTES)).isTrue();
+        assertThat(result).as("probe output for %s", command).isNotNull();
+        return result;
+    }
+
+    private static long median(final List<long[]> results, final int column) {
+        final List<Long> values = new ArrayList<>();
+        for (long[] result : results) {
+            values.add(result[column]);
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+
+    @FunctionalInterface
+    private interface Probe {
+        long[] run() throws Exception;
+    }
+}
@@ -0,0 +1,114 @@
+package software.amazon.datasync.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the time to the first successful {@link ReadHandler} response in a fresh JVM against a local
+ * stand-in for the DataSync endpoint, using {@link LocalHandlerRun} as the probe. Each run starts a new
+ * JVM so that class loading is part of the measurement. Not part of the default test run; run it with
+ * {@code mvn test -Dtest=ColdStartBenchmark}, optionally with {@code -Dbenchmark.runs}.
+ *
+ * <p>By default the probe runs on the test classpath with and without {@link HandlerPrimer}. To compare
+ * the class-data-sharing archive, build it first with {@code mvn package -Pappcds} (JDK 11 or later) and
+ * pass {@code -Dbenchmark.jar} and {@code -Dbenchmark.appcdsArchive}; the probe then also runs on the
+ * shaded jar with and without the archive, and reports how many classes came from it.
+ */
+public class ColdStartBenchmark {
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 5);
+    private static final String SHARED_CLASS_SOURCE = "source: shared objects file";
+
+    @Test
+    public void compareFirstRead() throws Exception {
+        System.out.println(String.format("%-12s %14s %16s %18s %15s %15s",
+                "mode", "priming (ms)", "first Read (ms)", "to first Read (ms)", "loaded classes", "shared classes"));
+
+        report("unprimed", classpathCommand(System.getProperty("java.class.path")));
+        report("primed", classpathCommand(System.getProperty("java.class.path")), "primed");
+
+        final String jar = System.getProperty("benchmark.jar");
+        final String archive = System.getProperty("benchmark.appcdsArchive");
+        if (jar != null && archive != null) {
+            final String classpath = jar + File.pathSeparator + testClassesDirectory();
+            final List<String> withoutArchive = classpathCommand(classpath);
+            withoutArchive.add(1, "-Xlog:class+load=info");
+            final List<String> withArchive = classpathCommand(classpath);
+            withArchive.add(1, "-Xlog:class+load=info");
+            withArchive.add(1, "-XX:SharedArchiveFile=" + archive);
+            report("jar", withoutArchive);
+            report("jar+appcds", withArchive);
+        }
+    }
+
+    private static void report(final String mode, final List<String> command, final String... args)
+            throws IOException, InterruptedException {
+        final List<long[]> results = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            final List<String> run = new ArrayList<>(command);
+            run.addAll(Arrays.asList(args));
+            results.add(runProbe(run));
+        }
+        System.out.println(String.format("%-12s %14d %16d %18d %15d %15d", mode,
+                median(results, 0), median(results, 1), median(results, 2), median(results, 3), median(results, 4)));
+    }
+
+    private static List<String> classpathCommand(final String classpath) {
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        return new ArrayList<>(Arrays.asList(java, "-cp", classpath, LocalHandlerRun.class.getName()));
+    }
+
+    private static String testClassesDirectory() {
+        return new File(LocalHandlerRun.class.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath();
+    }
+
+    /**
+     * @return the probe's result columns, followed by the number of classes loaded from a shared archive
+     */
+    private static long[] runProbe(final List<String> command) throws IOException, InterruptedException {
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+        long[] result = null;
+        long sharedClasses = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(LocalHandlerRun.RESULT_PREFIX)) {
+                    result = Arrays.stream(line.substring(LocalHandlerRun.RESULT_PREFIX.length()).split(" "))
+                            .mapToLong(Long::parseLong)
+                            .toArray();
+                } else if (line.contains(SHARED_CLASS_SOURCE)) {
+                    sharedClasses++;
+                }
+            }
+        }
+        assertThat(process.waitFor(2, TimeUnit.MINUTES)).isTrue();
+        assertThat(result).as("probe output for %s", command).isNotNull();
+
+        final long[] columns = Arrays.copyOf(result, result.length + 1);
+        columns[result.length] = sharedClasses;
+        return columns;
+    }
+
+    private static long median(final List<long[]> results, final int column) {
+        final List<Long> values = new ArrayList<>();
+        for (long[] result : results) {
+            values.add(result[column]);
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
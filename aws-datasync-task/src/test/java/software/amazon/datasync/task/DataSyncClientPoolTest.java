@@ -0,0 +1,112 @@
+package software.amazon.datasync.task;
+
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class DataSyncClientPoolTest {
+
+    private final List<DataSyncClientPool.Key> built = new ArrayList<>();
+
+    private DataSyncClientPool<DataSyncClient> newPool(final int maxClients) {
+        return new DataSyncClientPool<>(maxClients, key -> {
+            built.add(key);
+            return mock(DataSyncClient.class);
+        });
+    }
+
+    @Test
+    public void acquire_SameKeyIsHit() {
+        final DataSyncClientPool<DataSyncClient> pool = newPool(2);
+
+        final DataSyncClient first = pool.acquire("us-east-1", null);
+        final DataSyncClient second = pool.acquire("us-east-1", null);
+
+        assertThat(second).isSameAs(first);
+        assertThat(pool.getMissCount()).isEqualTo(1);
+        assertThat(pool.getHitCount()).isEqualTo(1);
+        assertThat(built).containsExactly(new DataSyncClientPool.Key("us-east-1", null));
+    }
+
+    @Test
+    public void acquire_RegionAndEndpointAreDistinctKeys() {
+        final DataSyncClientPool<DataSyncClient> pool = newPool(4);
+
+        final DataSyncClient east = pool.acquire("us-east-1", null);
+        final DataSyncClient west = pool.acquire("us-west-2", null);
+        final DataSyncClient local = pool.acquire("us-east-1", "http://localhost:8080");
+
+        assertThat(east).isNotSameAs(west);
+        assertThat(east).isNotSameAs(local);
+        assertThat(pool.size()).isEqualTo(3);
+        assertThat(pool.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void acquire_EvictsLeastRecentlyUsedWithoutClosingIt() {
+        final DataSyncClientPool<DataSyncClient> pool = newPool(2);
+
+        final DataSyncClient east = pool.acquire("us-east-1", null);
+        final DataSyncClient west = pool.acquire("us-west-2", null);
+        // Touch us-east-1 so that us-west-2 becomes the least recently used entry
+        pool.acquire("us-east-1", null);
+        pool.acquire("eu-west-1", null);
+
+        verify(west, never()).close();
+        verify(east, never()).close();
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.getEvictionCount()).isEqualTo(1);
+        assertThat(pool.acquire("us-east-1", null)).isSameAs(east);
+        assertThat(pool.acquire("us-west-2", null)).isNotSameAs(west);
+    }
+
+    @Test
+    public void clear_ClosesAllClients() {
+        final DataSyncClientPool<DataSyncClient> pool = newPool(2);
+        final DataSyncClient east = pool.acquire("us-east-1", null);
+        final DataSyncClient west = pool.acquire("us-west-2", null);
+
+        pool.clear();
+
+        verify(east).close();
+        verify(west).close();
+        assertThat(pool.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void clear_ClosesEvictedClients() {
+        final DataSyncClientPool<DataSyncClient> pool = newPool(1);
+        final DataSyncClient east = pool.acquire("us-east-1", null);
+        final DataSyncClient west = pool.acquire("us-west-2", null);
+
+        pool.clear();
+
+        verify(east).close();
+        verify(west).close();
+    }
+
+    @Test
+    public void put_ReplacesAndClosesPrevious() {
+        final DataSyncClientPool<DataSyncClient> pool = newPool(2);
+        final DataSyncClient original = pool.acquire(null, null);
+        final DataSyncClient replacement = mock(DataSyncClient.class);
+
+        pool.put(null, null, replacement);
+
+        verify(original).close();
+        assertThat(pool.acquire(null, null)).isSameAs(replacement);
+    }
+
+    @Test
+    public void constructor_RejectsEmptyPool() {
+        assertThrows(IllegalArgumentException.class, () -> newPool(0));
+    }
+}
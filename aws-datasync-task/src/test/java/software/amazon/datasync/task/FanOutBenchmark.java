@@ -0,0 +1,140 @@
+package software.amazon.datasync.task;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.services.datasync.model.DescribeTaskResponse;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares per-invocation latency of the Read and Update handlers, whose independent calls fan out
+ * through {@link HandlerExecutor}, against a proxy that adds a fixed latency to every call. Run it once
+ * per runtime to compare the virtual-thread executor with the Java 8 fallback:
+ * {@code mvn test -Dtest=FanOutBenchmark} and {@code mvn test -Pjava21 -Dtest=FanOutBenchmark}.
+ *
+ * <p>Besides one invocation at a time, it also runs bursts of concurrent invocations, which is where
+ * the number of platform threads in the fallback shows. Concurrent reads of the task would otherwise
+ * share one load, so coalescing is turned off; {@code ReadCoalescingBenchmark} measures it.
+ */
+public class FanOutBenchmark {
+    private static final long CALL_LATENCY_MILLIS = Long.getLong("benchmark.callLatencyMillis", 50);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+    private static final int BURST = Integer.getInteger("benchmark.burst", 32);
+    private static final String TASK_ARN = "arn:aws:datasync:us-east-1:123456789012:task/task-01234567890123456";
+
+    private final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+    private final Logger logger = mock(Logger.class);
+
+    @BeforeEach
+    public void setup() {
+        System.setProperty("datasync.coalesceReads", "false");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty("datasync.coalesceReads");
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void compareInvocationLatency() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(CALL_LATENCY_MILLIS);
+            final AwsRequest request = invocation.getArgument(0);
+            if (request instanceof ListTagsForResourceRequest) {
+                return TagTestResources.buildDefaultTagsResponse();
+            }
+            return DescribeTaskResponse.builder().taskArn(TASK_ARN).build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(), any());
+
+        System.out.println(String.format("runtime %s, executor %s, concurrency %d, call latency %d ms",
+                System.getProperty("java.version"),
+                HandlerExecutor.usesVirtualThreads() ? "virtual threads" : "platform threads",
+                HandlerExecutor.getConcurrency(), CALL_LATENCY_MILLIS));
+        System.out.println(String.format("%-22s %10s %10s %10s", "handler", "p50 (ms)", "p90 (ms)", "max (ms)"));
+
+        final Callable<Object> read = () -> new ReadHandler().handleRequest(proxy, readRequest(), null, logger);
+        final Callable<Object> update = () -> new UpdateHandler().handleRequest(proxy, updateRequest(), null, logger);
+
+        report("Read", measureSequential(read));
+        report("Update", measureSequential(update));
+        report("Read, burst of " + BURST, measureBurst(read));
+        report("Update, burst of " + BURST, measureBurst(update));
+    }
+
+    private static long[] measureSequential(final Callable<Object> invocation) throws Exception {
+        invocation.call();
+        final long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            latencies[i] = time(invocation);
+        }
+        return latencies;
+    }
+
+    private static long[] measureBurst(final Callable<Object> invocation) throws Exception {
+        final ExecutorService invokers = Executors.newFixedThreadPool(BURST);
+        try {
+            final List<Callable<Long>> calls = new ArrayList<>();
+            for (int i = 0; i < BURST; i++) {
+                calls.add(() -> time(invocation));
+            }
+            final long[] latencies = new long[BURST];
+            int i = 0;
+            for (Future<Long> future : invokers.invokeAll(calls)) {
+                latencies[i++] = future.get();
+            }
+            return latencies;
+        } finally {
+            invokers.shutdownNow();
+        }
+    }
+
+    private static long time(final Callable<Object> invocation) throws Exception {
+        final long start = System.nanoTime();
+        assertThat(invocation.call()).isNotNull();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static void report(final String handler, final long[] latencies) {
+        Arrays.sort(latencies);
+        System.out.println(String.format("%-22s %10d %10d %10d", handler,
+                latencies[latencies.length / 2],
+                latencies[(int) Math.ceil(latencies.length * 0.9) - 1],
+                latencies[latencies.length - 1]));
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> readRequest() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-east-1")
+                .desiredResourceState(ResourceModel.builder().taskArn(TASK_ARN).build())
+                .build();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> updateRequest() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-east-1")
+                .previousResourceState(ResourceModel.builder().taskArn(TASK_ARN).build())
+                .previousResourceTags(TagTranslator.translateTagsToMap(TagTestResources.defaultTags))
+                .desiredResourceState(ResourceModel.builder().taskArn(TASK_ARN).build())
+                .desiredResourceTags(TagTranslator.translateTagsToMap(TagTestResources.updatedTags))
+                .build();
+    }
+}
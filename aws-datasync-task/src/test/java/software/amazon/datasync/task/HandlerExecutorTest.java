@@ -0,0 +1,110 @@
+package software.amazon.datasync.task;
+
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HandlerExecutorTest {
+
+    @Test
+    public void supplyAsync_ReturnsResult() {
+        assertThat(HandlerExecutor.join(HandlerExecutor.supplyAsync(() -> "result"))).isEqualTo("result");
+    }
+
+    @Test
+    public void join_RethrowsUnwrappedFailure() {
+        final CompletableFuture<Object> future = HandlerExecutor.supplyAsync(() -> {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, "arn");
+        });
+
+        assertThrows(CfnNotFoundException.class, () -> HandlerExecutor.join(future));
+    }
+
+    @Test
+    public void cancel_InterruptsRunningCall() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final CompletableFuture<Object> future = HandlerExecutor.supplyAsync(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        future.cancel(true);
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThrows(CancellationException.class, () -> HandlerExecutor.join(future));
+    }
+
+    @Test
+    public void joinBoth_FailsWithoutWaitingForOtherCall() {
+        final CountDownLatch slowFinished = new CountDownLatch(1);
+        final CompletableFuture<Object> slow = HandlerExecutor.supplyAsync(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slowFinished.countDown();
+            return null;
+        });
+        final CompletableFuture<Object> failed = HandlerExecutor.supplyAsync(() -> {
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, "arn");
+        });
+
+        assertThrows(CfnNotFoundException.class, () -> HandlerExecutor.joinBoth(slow, failed));
+
+        assertThat(slowFinished.getCount()).isOne();
+        assertThat(slow.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void supplyAsync_BoundsConcurrency() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < HandlerExecutor.getConcurrency() * 3; i++) {
+            futures.add(HandlerExecutor.supplyAsync(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return running.decrementAndGet();
+            }));
+        }
+        futures.forEach(HandlerExecutor::join);
+
+        assertThat(maxRunning.get()).isBetween(1, HandlerExecutor.getConcurrency());
+    }
+
+    @Test
+    public void usesVirtualThreads_OnlyWhenRuntimeSupportsThem() {
+        boolean supported;
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            supported = true;
+        } catch (NoSuchMethodException e) {
+            supported = false;
+        }
+
+        assertThat(HandlerExecutor.usesVirtualThreads()).isEqualTo(supported);
+    }
+}
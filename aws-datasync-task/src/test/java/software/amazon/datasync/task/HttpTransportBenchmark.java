@@ -0,0 +1,138 @@
+package software.amazon.datasync.task;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.awssdk.services.datasync.model.DescribeTaskRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the HTTP transport profiles against a local stand-in for the DataSync endpoint and prints
+ * request latency percentiles and the connection reuse rate for each. Not part of the default test
+ * run; run it with {@code mvn test -Dtest=HttpTransportBenchmark}. The iteration count can be changed
+ * with {@code -Dbenchmark.iterations}.
+ */
+public class HttpTransportBenchmark {
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 1_000);
+    private static final String TASK_ARN = "arn:aws:datasync:us-east-1:123456789012:task/task-01234567890123456";
+    private static final byte[] DESCRIBE_TASK_RESPONSE =
+            ("{\"TaskArn\":\"" + TASK_ARN + "\",\"Status\":\"AVAILABLE\"}").getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requests = new AtomicLong();
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void compareTransportProfiles() {
+        System.out.println(String.format("%-16s %10s %10s %10s %10s %12s",
+                "profile", "p50 (us)", "p90 (us)", "p99 (us)", "max (us)", "reuse rate"));
+        for (HttpTransportProfile profile : HttpTransportProfile.values()) {
+            final Result result = run(profile);
+            System.out.println(String.format("%-16s %10d %10d %10d %10d %11.1f%%",
+                    profile, result.percentile(50), result.percentile(90), result.percentile(99),
+                    result.percentile(100), result.reuseRate * 100));
+
+            assertThat(result.requests).isEqualTo(ITERATIONS);
+        }
+    }
+
+    private Result run(final HttpTransportProfile profile) {
+        final SdkHttpClient httpClient = profile.buildHttpClient();
+        final DataSyncClient client = DataSyncClient.builder()
+                .httpClient(httpClient)
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create("http://localhost:" + server.getAddress().getPort()))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("akid", "secret")))
+                .build();
+        final DescribeTaskRequest request = Translator.translateToReadRequest(TASK_ARN);
+        try {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                client.describeTask(request);
+            }
+            connections.clear();
+            requests.set(0);
+
+            final long[] latencies = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                final long start = System.nanoTime();
+                client.describeTask(request);
+                latencies[i] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            }
+            Arrays.sort(latencies);
+            final long served = requests.get();
+            return new Result(latencies, served, 1.0 - (double) connections.size() / served);
+        } finally {
+            client.close();
+            if (profile != HttpTransportProfile.WRAPPER) {
+                httpClient.close();
+            }
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        // Each distinct client address is a distinct TCP connection.
+        connections.add(exchange.getRemoteAddress());
+        requests.incrementAndGet();
+        try (InputStream body = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[4096];
+            while (body.read(buffer) != -1) {
+                // drain the request so the connection can be reused
+            }
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.1");
+        exchange.sendResponseHeaders(200, DESCRIBE_TASK_RESPONSE.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(DESCRIBE_TASK_RESPONSE);
+        }
+    }
+
+    private static class Result {
+        private final long[] sortedLatencies;
+        private final long requests;
+        private final double reuseRate;
+
+        Result(final long[] sortedLatencies, final long requests, final double reuseRate) {
+            this.sortedLatencies = sortedLatencies;
+            this.requests = requests;
+            this.reuseRate = reuseRate;
+        }
+
+        long percentile(final int percentile) {
+            final int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package software.amazon.datasync.task;
+
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.cloudformation.LambdaWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpTransportProfileTest {
+    private static final String TRANSPORT_PROPERTY = "datasync.httpTransport";
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(TRANSPORT_PROPERTY);
+    }
+
+    @Test
+    public void fromName_AcceptsDashedAndMixedCaseNames() {
+        assertThat(HttpTransportProfile.fromName("url-connection")).isEqualTo(HttpTransportProfile.URL_CONNECTION);
+        assertThat(HttpTransportProfile.fromName(" Apache ")).isEqualTo(HttpTransportProfile.APACHE);
+        assertThat(HttpTransportProfile.fromName("WRAPPER")).isEqualTo(HttpTransportProfile.WRAPPER);
+    }
+
+    @Test
+    public void fromName_UnknownOrMissingFallsBackToWrapper() {
+        assertThat(HttpTransportProfile.fromName(null)).isEqualTo(HttpTransportProfile.WRAPPER);
+        assertThat(HttpTransportProfile.fromName("carrier-pigeon")).isEqualTo(HttpTransportProfile.WRAPPER);
+    }
+
+    @Test
+    public void fromSettings_ReadsTransportSetting() {
+        System.setProperty(TRANSPORT_PROPERTY, "apache");
+        assertThat(HttpTransportProfile.fromSettings()).isEqualTo(HttpTransportProfile.APACHE);
+    }
+
+    @Test
+    public void buildHttpClient_WrapperSharesWrapperClient() {
+        assertThat(HttpTransportProfile.WRAPPER.buildHttpClient()).isSameAs(LambdaWrapper.HTTP_CLIENT);
+    }
+
+    @Test
+    public void buildHttpClient_BuildsEachProfile() {
+        for (HttpTransportProfile profile : new HttpTransportProfile[] {
+                HttpTransportProfile.URL_CONNECTION, HttpTransportProfile.APACHE}) {
+            final SdkHttpClient httpClient = profile.buildHttpClient();
+            try {
+                assertThat(httpClient).isNotNull();
+                assertThat(httpClient).isNotSameAs(LambdaWrapper.HTTP_CLIENT);
+            } finally {
+                httpClient.close();
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package software.amazon.datasync.task;
 
+import software.amazon.awssdk.services.datasync.model.DescribeTaskRequest;
+import software.amazon.awssdk.services.datasync.model.DescribeTaskResponse;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.datasync.model.ListTasksRequest;
 import software.amazon.awssdk.services.datasync.model.ListTasksResponse;
 import software.amazon.awssdk.services.datasync.model.TaskListEntry;
@@ -19,6 +22,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
@@ -75,6 +79,41 @@ public class ListHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_Enriched_ReturnsFullModels() {
+        System.setProperty("datasync.listEnriched", "true");
+        System.setProperty("datasync.listEnrichRate", "0");
+        try {
+            doReturn(ListTasksResponse.builder().tasks(buildDefaultList()).build())
+                    .when(proxy)
+                    .injectCredentialsAndInvokeV2(any(ListTasksRequest.class), any());
+            doAnswer(invocation -> DescribeTaskResponse.builder()
+                    .taskArn(invocation.<DescribeTaskRequest>getArgument(0).taskArn())
+                    .name("Described")
+                    .build())
+                    .when(proxy)
+                    .injectCredentialsAndInvokeV2(any(DescribeTaskRequest.class), any());
+            doReturn(TagTestResources.buildDefaultTagsResponse())
+                    .when(proxy)
+                    .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+            final ProgressEvent<ResourceModel, CallbackContext> response = new ListHandler().handleRequest(
+                    proxy, ResourceHandlerRequest.<ResourceModel>builder().build(), null, logger);
+
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+            assertThat(response.getResourceModels()).extracting(ResourceModel::getTaskArn)
+                    .containsExactly(buildDefaultModel1().getTaskArn(), buildDefaultModel2().getTaskArn());
+            assertThat(response.getResourceModels()).extracting(ResourceModel::getName)
+                    .containsExactly("Described", "Described");
+            assertThat(response.getResourceModels())
+                    .allMatch(model -> TagTestResources.defaultTags.equals(model.getTags()));
+            assertThat(response.getMessage()).isNull();
+        } finally {
+            System.clearProperty("datasync.listEnriched");
+            System.clearProperty("datasync.listEnrichRate");
+        }
+    }
+
     private static List<TaskListEntry> buildDefaultList() {
         final String taskArn1 = "arn:aws:datasync:us-east-2:123456789012:task/task-01234567890123456";
         final String taskArn2 = "arn:aws:datasync:us-east-2:123456789012:task/task-12345678901234567";
@@ -0,0 +1,420 @@
+package software.amazon.datasync.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReadCacheTest {
+    private static final String ACCOUNT = "123456789012";
+    private static final String ARN = "arn:aws:datasync:us-east-1:123456789012:resource/first";
+    private static final String OTHER_ARN = "arn:aws:datasync:us-east-1:123456789012:resource/second";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicLong ttlMillis = new AtomicLong(60_000);
+    private final AtomicLong tombstoneTtlMillis = new AtomicLong(60_000);
+
+    private final ExecutorService readers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() {
+        readers.shutdownNow();
+    }
+
+    private ReadCache<String> newCache(final int maxEntries) {
+        return new ReadCache<>(maxEntries, ttlMillis::get);
+    }
+
+    private ReadCache<String> newCacheWithTombstones(final int maxEntries) {
+        return new ReadCache<>(maxEntries, ttlMillis::get, () -> true, tombstoneTtlMillis::get);
+    }
+
+    private Supplier<ReadCache.Entry<String>> notFoundLoader() {
+        return () -> {
+            loads.incrementAndGet();
+            throw new CfnNotFoundException(ResourceModel.TYPE_NAME, ARN);
+        };
+    }
+
+    private Supplier<ReadCache.Entry<String>> loader(final String response) {
+        return () -> {
+            loads.incrementAndGet();
+            return ReadCache.entry(response, Collections.singleton(Tag.builder().key("key").value(response).build()));
+        };
+    }
+
+    // A loader that signals once it has started and then waits to be released.
+    private Supplier<ReadCache.Entry<String>> blockingLoader(
+            final String response,
+            final CountDownLatch started,
+            final CountDownLatch release) {
+        return () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ReadCache.entry(response, Collections.emptySet());
+        };
+    }
+
+    // Wait until the given number of reads have joined the load under way.
+    private static void awaitCoalesced(final ReadCache<String> cache, final long count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (cache.getCoalescedCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void get_SameKeyIsHit() {
+        final ReadCache<String> cache = newCache(2);
+
+        cache.get(ACCOUNT, ARN, loader("first"));
+        final ReadCache.Entry<String> second = cache.get(ACCOUNT, ARN, loader("second"));
+
+        assertThat(second.getResponse()).isEqualTo("first");
+        assertThat(second.getUserTags()).containsExactly(Tag.builder().key("key").value("first").build());
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_AccountAndArnAreDistinctKeys() {
+        final ReadCache<String> cache = newCache(4);
+
+        cache.get(ACCOUNT, ARN, loader("first"));
+        cache.get(ACCOUNT, OTHER_ARN, loader("second"));
+        cache.get("210987654321", ARN, loader("third"));
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void get_ExpiredEntryIsLoadedAgain() throws InterruptedException {
+        ttlMillis.set(1);
+        final ReadCache<String> cache = newCache(2);
+
+        cache.get(ACCOUNT, ARN, loader("first"));
+        Thread.sleep(10);
+        final ReadCache.Entry<String> second = cache.get(ACCOUNT, ARN, loader("second"));
+
+        assertThat(second.getResponse()).isEqualTo("second");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_EvictsLeastRecentlyUsed() {
+        final ReadCache<String> cache = newCache(2);
+
+        cache.get(ACCOUNT, ARN, loader("first"));
+        cache.get(ACCOUNT, OTHER_ARN, loader("second"));
+        // Touch the first entry so that the second becomes the least recently used
+        cache.get(ACCOUNT, ARN, loader("unused"));
+        cache.get(ACCOUNT, "third", loader("third"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.get(ACCOUNT, ARN, loader("unused")).getResponse()).isEqualTo("first");
+        assertThat(cache.get(ACCOUNT, OTHER_ARN, loader("reloaded")).getResponse()).isEqualTo("reloaded");
+    }
+
+    @Test
+    public void get_ZeroTtlDisablesCache() {
+        ttlMillis.set(0);
+        final ReadCache<String> cache = newCache(2);
+
+        cache.get(ACCOUNT, ARN, loader("first"));
+        cache.get(ACCOUNT, ARN, loader("second"));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getHitCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void get_LoaderFailureIsNotCached() {
+        final ReadCache<String> cache = newCache(2);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(ACCOUNT, ARN, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.get(ACCOUNT, ARN, loader("first")).getResponse()).isEqualTo("first");
+    }
+
+    @Test
+    public void invalidate_DropsEntry() {
+        final ReadCache<String> cache = newCache(2);
+        cache.get(ACCOUNT, ARN, loader("first"));
+
+        cache.invalidate(ACCOUNT, ARN);
+
+        assertThat(cache.get(ACCOUNT, ARN, loader("second")).getResponse()).isEqualTo("second");
+    }
+
+    @Test
+    public void invalidate_DuringLoad_SkipsCachingIt() {
+        final ReadCache<String> cache = newCache(2);
+
+        final ReadCache.Entry<String> stale = cache.get(ACCOUNT, ARN, () -> {
+            cache.invalidate(ACCOUNT, ARN);
+            return ReadCache.entry("stale", Collections.emptySet());
+        });
+
+        assertThat(stale.getResponse()).isEqualTo("stale");
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void getAsync_CachesWhenLoaded() {
+        final ReadCache<String> cache = newCache(2);
+        final CompletableFuture<ReadCache.Entry<String>> pending = new CompletableFuture<>();
+
+        final CompletableFuture<ReadCache.Entry<String>> first = cache.getAsync(ACCOUNT, ARN, () -> pending);
+        assertThat(cache.size()).isEqualTo(0);
+        pending.complete(ReadCache.entry("first", Collections.emptySet()));
+
+        assertThat(first.join().getResponse()).isEqualTo("first");
+        assertThat(cache.getAsync(ACCOUNT, ARN, () -> new CompletableFuture<>()).join().getResponse())
+                .isEqualTo("first");
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void entry_TagsAreCopiedOnEachUse() {
+        final ReadCache.Entry<String> entry =
+                ReadCache.entry("first", Collections.singleton(Tag.builder().key("key").value("value").build()));
+
+        entry.getUserTags().clear();
+
+        assertThat(entry.getUserTags()).hasSize(1);
+    }
+
+    @Test
+    public void get_ConcurrentMisses_ShareOneLoad() throws Exception {
+        ttlMillis.set(0);
+        final ReadCache<String> cache = newCache(2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<ReadCache.Entry<String>> first =
+                readers.submit(() -> cache.get(ACCOUNT, ARN, blockingLoader("first", started, release)));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        final Future<ReadCache.Entry<String>> second = readers.submit(() -> cache.get(ACCOUNT, ARN, loader("second")));
+        awaitCoalesced(cache, 1);
+        release.countDown();
+
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getCoalescedCount()).isEqualTo(1);
+        // With the cache off, nothing is kept once the load is over.
+        assertThat(cache.get(ACCOUNT, ARN, loader("third")).getResponse()).isEqualTo("third");
+    }
+
+    @Test
+    public void get_ConcurrentMisses_ShareLoaderFailure() throws Exception {
+        final ReadCache<String> cache = newCache(2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final IllegalStateException failure = new IllegalStateException();
+
+        final Future<ReadCache.Entry<String>> first = readers.submit(() -> cache.get(ACCOUNT, ARN, () -> {
+            blockingLoader("first", started, release).get();
+            throw failure;
+        }));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        final Future<Throwable> second = readers.submit(
+                () -> assertThrows(IllegalStateException.class, () -> cache.get(ACCOUNT, ARN, loader("second"))));
+        awaitCoalesced(cache, 1);
+        release.countDown();
+
+        assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+        assertSame(failure, second.get(10, TimeUnit.SECONDS));
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void get_DistinctArns_LoadSeparately() throws Exception {
+        final ReadCache<String> cache = newCache(2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<ReadCache.Entry<String>> first =
+                readers.submit(() -> cache.get(ACCOUNT, ARN, blockingLoader("first", started, release)));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(cache.get(ACCOUNT, OTHER_ARN, loader("second")).getResponse()).isEqualTo("second");
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS).getResponse()).isEqualTo("first");
+        assertThat(cache.getCoalescedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void get_AfterInvalidate_DoesNotJoinEarlierLoad() throws Exception {
+        final ReadCache<String> cache = newCache(2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<ReadCache.Entry<String>> stale =
+                readers.submit(() -> cache.get(ACCOUNT, ARN, blockingLoader("stale", started, release)));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        cache.invalidate(ACCOUNT, ARN);
+
+        assertThat(cache.get(ACCOUNT, ARN, loader("fresh")).getResponse()).isEqualTo("fresh");
+        release.countDown();
+        assertThat(stale.get(10, TimeUnit.SECONDS).getResponse()).isEqualTo("stale");
+        assertThat(cache.get(ACCOUNT, ARN, loader("unused")).getResponse()).isEqualTo("fresh");
+    }
+
+    @Test
+    public void get_CoalescingOff_LoadsEachRead() throws Exception {
+        final ReadCache<String> cache = new ReadCache<>(2, () -> 0, () -> false, () -> 0);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<ReadCache.Entry<String>> first =
+                readers.submit(() -> cache.get(ACCOUNT, ARN, blockingLoader("first", started, release)));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(cache.get(ACCOUNT, ARN, loader("second")).getResponse()).isEqualTo("second");
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS).getResponse()).isEqualTo("first");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getAsync_ConcurrentMisses_ShareOneLoad() {
+        ttlMillis.set(0);
+        final ReadCache<String> cache = newCache(2);
+        final CompletableFuture<ReadCache.Entry<String>> pending = new CompletableFuture<>();
+
+        final CompletableFuture<ReadCache.Entry<String>> first = cache.getAsync(ACCOUNT, ARN, () -> pending);
+        final CompletableFuture<ReadCache.Entry<String>> second =
+                cache.getAsync(ACCOUNT, ARN, () -> CompletableFuture.completedFuture(ReadCache.entry("second", null)));
+        pending.complete(ReadCache.entry("first", Collections.emptySet()));
+
+        assertThat(second.join().getResponse()).isEqualTo("first");
+        assertSame(first.join(), second.join());
+        assertThat(cache.getCoalescedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void markDeleted_ReadsFailWithoutLoading() {
+        final ReadCache<String> cache = newCacheWithTombstones(2);
+        cache.get(ACCOUNT, ARN, loader("first"));
+
+        cache.markDeleted(ACCOUNT, ARN);
+
+        assertThrows(CfnNotFoundException.class, () -> cache.get(ACCOUNT, ARN, loader("second")));
+        assertThrows(CfnNotFoundException.class, () -> cache.get("210987654321", ARN, notFoundLoader()));
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getTombstoneHitCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void get_NotFound_LeavesTombstone() {
+        final ReadCache<String> cache = newCacheWithTombstones(2);
+
+        assertThrows(CfnNotFoundException.class, () -> cache.get(ACCOUNT, ARN, notFoundLoader()));
+        assertThrows(CfnNotFoundException.class, () -> cache.get(ACCOUNT, ARN, loader("unused")));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getTombstoneHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_OtherFailure_LeavesNoTombstone() {
+        final ReadCache<String> cache = newCacheWithTombstones(2);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(ACCOUNT, ARN, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertThat(cache.get(ACCOUNT, ARN, loader("first")).getResponse()).isEqualTo("first");
+    }
+
+    @Test
+    public void invalidate_DropsTombstone() {
+        final ReadCache<String> cache = newCacheWithTombstones(2);
+        cache.markDeleted(ACCOUNT, ARN);
+
+        cache.invalidate(ACCOUNT, ARN);
+
+        assertThat(cache.get(ACCOUNT, ARN, loader("recreated")).getResponse()).isEqualTo("recreated");
+        assertThat(cache.getTombstoneHitCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void get_ExpiredTombstone_AsksAgain() throws InterruptedException {
+        tombstoneTtlMillis.set(1);
+        final ReadCache<String> cache = newCacheWithTombstones(2);
+        cache.markDeleted(ACCOUNT, ARN);
+        Thread.sleep(10);
+
+        assertThrows(CfnNotFoundException.class, () -> cache.get(ACCOUNT, ARN, notFoundLoader()));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getTombstoneHitCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void markDeleted_ZeroTombstoneTtl_KeepsNoTombstone() {
+        tombstoneTtlMillis.set(0);
+        final ReadCache<String> cache = newCacheWithTombstones(2);
+
+        cache.markDeleted(ACCOUNT, ARN);
+
+        assertThat(cache.get(ACCOUNT, ARN, loader("first")).getResponse()).isEqualTo("first");
+    }
+
+    @Test
+    public void markDeleted_KeepsAtMostMaxEntriesTombstones() {
+        final ReadCache<String> cache = newCacheWithTombstones(2);
+
+        cache.markDeleted(ACCOUNT, ARN);
+        cache.markDeleted(ACCOUNT, OTHER_ARN);
+        cache.markDeleted(ACCOUNT, "third");
+
+        assertThat(cache.get(ACCOUNT, ARN, loader("first")).getResponse()).isEqualTo("first");
+        assertThrows(CfnNotFoundException.class, () -> cache.get(ACCOUNT, OTHER_ARN, loader("unused")));
+    }
+
+    @Test
+    public void getAsync_Tombstoned_FailsWithoutLoading() {
+        final ReadCache<String> cache = newCacheWithTombstones(2);
+        cache.markDeleted(ACCOUNT, ARN);
+
+        final CompletableFuture<ReadCache.Entry<String>> read = cache.getAsync(ACCOUNT, ARN, () -> {
+            loads.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        final CompletionException e = assertThrows(CompletionException.class, read::join);
+        assertThat(e.getCause()).isInstanceOf(CfnNotFoundException.class);
+        assertThat(loads.get()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,139 @@
+package software.amazon.datasync.task;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.services.datasync.model.DescribeTaskRequest;
+import software.amazon.awssdk.services.datasync.model.DescribeTaskResponse;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Stresses the Read handler with many threads reading a handful of tasks at once, as the local test
+ * entry point or tooling that drives the handlers directly does, with reads coalesced and without. For
+ * each it reports the Describe and ListTagsForResource calls that reached the proxy and the read latency.
+ * The read cache stays off, so only coalescing saves calls. Not part of the default test run; run it with
+ * {@code mvn test -Dtest=ReadCoalescingBenchmark}, optionally with {@code -Dbenchmark.threads},
+ * {@code -Dbenchmark.tasks}, {@code -Dbenchmark.rounds} and {@code -Dbenchmark.callLatencyMillis}.
+ */
+public class ReadCoalescingBenchmark {
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 64);
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 4);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 10);
+    private static final long CALL_LATENCY_MILLIS = Long.getLong("benchmark.callLatencyMillis", 50);
+    private static final String TASK_ARN_PREFIX = "arn:aws:datasync:us-east-1:123456789012:task/task-0123456789012345";
+
+    private final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+    private final Logger logger = mock(Logger.class);
+    private final AtomicInteger describeCalls = new AtomicInteger();
+    private final AtomicInteger listTagsCalls = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty("datasync.coalesceReads");
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void compareConcurrentReads() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(CALL_LATENCY_MILLIS);
+            final AwsRequest request = invocation.getArgument(0);
+            if (request instanceof ListTagsForResourceRequest) {
+                listTagsCalls.incrementAndGet();
+                return TagTestResources.buildDefaultTagsResponse();
+            }
+            describeCalls.incrementAndGet();
+            return DescribeTaskResponse.builder().taskArn(((DescribeTaskRequest) request).taskArn()).build();
+        }).when(proxy).injectCredentialsAndInvokeV2(any(), any());
+
+        System.out.println(String.format("%d threads reading %d tasks, %d rounds, call latency %d ms",
+                THREADS, TASKS, ROUNDS, CALL_LATENCY_MILLIS));
+        System.out.println(String.format("%-12s %10s %10s %10s %10s %10s",
+                "reads", "Describe", "ListTags", "p50 (ms)", "p99 (ms)", "max (ms)"));
+
+        final int uncoalesced = run("separate", false);
+        final int coalesced = run("coalesced", true);
+
+        assertThat(coalesced).isLessThan(uncoalesced);
+    }
+
+    /**
+     * @return the number of Describe calls made
+     */
+    private int run(final String label, final boolean coalesce) throws Exception {
+        System.setProperty("datasync.coalesceReads", Boolean.toString(coalesce));
+        describeCalls.set(0);
+        listTagsCalls.set(0);
+
+        final ExecutorService readers = Executors.newFixedThreadPool(THREADS);
+        final long[] latencies = new long[THREADS * ROUNDS];
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Callable<Long>> reads = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    final ResourceHandlerRequest<ResourceModel> request = request(TASK_ARN_PREFIX + (i % TASKS));
+                    reads.add(() -> {
+                        start.await();
+                        final long begin = System.nanoTime();
+                        final ProgressEvent<ResourceModel, CallbackContext> response =
+                                new ReadHandler().handleRequest(proxy, request, null, logger);
+                        assertThat(response.getResourceModel().getTaskArn())
+                                .isEqualTo(request.getDesiredResourceState().getTaskArn());
+                        return System.nanoTime() - begin;
+                    });
+                }
+                final List<Future<Long>> futures = new ArrayList<>();
+                for (Callable<Long> read : reads) {
+                    futures.add(readers.submit(read));
+                }
+                start.countDown();
+                for (int i = 0; i < THREADS; i++) {
+                    latencies[round * THREADS + i] = futures.get(i).get();
+                }
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        Arrays.sort(latencies);
+        System.out.println(String.format("%-12s %10d %10d %10.1f %10.1f %10.1f", label,
+                describeCalls.get(), listTagsCalls.get(),
+                millis(latencies[latencies.length / 2]),
+                millis(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]),
+                millis(latencies[latencies.length - 1])));
+        return describeCalls.get();
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final String taskArn) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .region("us-east-1")
+                .awsAccountId("123456789012")
+                .desiredResourceState(ResourceModel.builder().taskArn(taskArn).build())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package software.amazon.datasync.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long now = 42;
+
+    private SharedRateLimiter limiter(final double rate) {
+        return new SharedRateLimiter(rate, 1, 0.5, 0.5, () -> now);
+    }
+
+    @Test
+    public void reserve_WithinBurst_DoesNotWait() {
+        final SharedRateLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.reserve()).isZero();
+        }
+    }
+
+    @Test
+    public void reserve_BeyondBurst_WaitsInTurn() {
+        final SharedRateLimiter limiter = limiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.reserve();
+        }
+
+        assertThat(limiter.reserve()).isEqualTo(SECOND / 10);
+        assertThat(limiter.reserve()).isEqualTo(2 * SECOND / 10);
+    }
+
+    @Test
+    public void reserve_AfterAWhile_IsRefilled() {
+        final SharedRateLimiter limiter = limiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.reserve();
+        }
+
+        now += SECOND / 2;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.reserve()).isZero();
+        }
+        assertThat(limiter.reserve()).isPositive();
+    }
+
+    @Test
+    public void onThrottle_ShrinksRateOnceASecond() {
+        final SharedRateLimiter limiter = limiter(10);
+
+        limiter.onThrottle();
+        limiter.onThrottle();
+        assertThat(limiter.getRate()).isEqualTo(5);
+
+        now += SECOND;
+        limiter.onThrottle();
+        assertThat(limiter.getRate()).isEqualTo(2.5);
+    }
+
+    @Test
+    public void onThrottle_StopsAtMinimum() {
+        final SharedRateLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onThrottle();
+            now += SECOND;
+        }
+
+        assertThat(limiter.getRate()).isEqualTo(1);
+    }
+
+    @Test
+    public void onSuccess_GrowsRateBackToMaximum() {
+        final SharedRateLimiter limiter = limiter(10);
+        limiter.onThrottle();
+
+        limiter.onSuccess();
+        assertThat(limiter.getRate()).isEqualTo(5.5);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess();
+        }
+        assertThat(limiter.getRate()).isEqualTo(10);
+    }
+
+    @Test
+    public void rateOfZero_DoesNotLimit() {
+        final SharedRateLimiter limiter = limiter(0);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.reserve()).isZero();
+        }
+        limiter.onThrottle();
+        assertThat(limiter.isEnabled()).isFalse();
+        assertThat(limiter.getRate()).isZero();
+    }
+}
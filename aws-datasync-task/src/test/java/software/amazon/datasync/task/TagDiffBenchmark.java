@@ -0,0 +1,110 @@
+package software.amazon.datasync.task;
+
+import com.google.common.collect.MapDifference;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import software.amazon.awssdk.services.datasync.model.TagListEntry;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Works out the tag changes of an Update of 10, 50 and 500 tags, where a tenth of the tags change value, a
+ * tenth are removed and a tenth are added, with {@link TagDiff} and with the Guava map differences and stream
+ * collectors it replaced. For each it reports the time and the bytes allocated per diff, including building
+ * the TagResource and UntagResource entries. The allocation is read from the JVM's per-thread counter, so it is
+ * reported as -1 on a JVM without one. Not part of the default test run; run it with
+ * {@code mvn test -Dtest=TagDiffBenchmark}, optionally with {@code -Dbenchmark.iterations}.
+ */
+public class TagDiffBenchmark {
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200_000);
+    private static final int[] TAG_COUNTS = {10, 50, 500};
+
+    private static volatile Object sink;
+
+    @Test
+    public void compareDiffs() {
+        System.out.println(String.format("%-8s %-10s %12s %16s", "tags", "diff", "ns/diff", "bytes/diff"));
+        for (int tagCount : TAG_COUNTS) {
+            final Map<String, String> previous = new HashMap<>();
+            final Map<String, String> desired = new HashMap<>();
+            for (int i = 0; i < tagCount; i++) {
+                previous.put("key-" + i, "value-" + i);
+                if (i % 10 == 1) {
+                    desired.put("key-" + i, "changed-" + i);
+                } else if (i % 10 != 2) {
+                    desired.put("key-" + i, "value-" + i);
+                }
+                if (i % 10 == 3) {
+                    desired.put("added-" + i, "value-" + i);
+                }
+            }
+
+            final TagDiff tagDiff = TagDiff.of(previous, desired, null);
+            final Previous guava = new Previous(previous, desired);
+            assertThat(tagDiff.getTagsToAdd()).containsExactlyInAnyOrderElementsOf(guava.tagsToAdd);
+            assertThat(tagDiff.getKeysToRemove()).containsExactlyInAnyOrderElementsOf(guava.keysToRemove);
+
+            run(tagCount, "TagDiff", () -> TagDiff.of(previous, desired, null));
+            run(tagCount, "Guava", () -> new Previous(previous, desired));
+        }
+    }
+
+    private static void run(final int tagCount, final String label, final Supplier<Object> diff) {
+        final int iterations = Math.max(1, ITERATIONS * 10 / tagCount);
+        // Warm up, then measure.
+        for (int i = 0; i < iterations; i++) {
+            sink = diff.get();
+        }
+        final long allocatedBefore = allocatedBytes();
+        final long begin = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = diff.get();
+        }
+        final long elapsed = System.nanoTime() - begin;
+        final long allocated = allocatedBytes() - allocatedBefore;
+
+        System.out.println(String.format("%-8d %-10s %12.1f %16d", tagCount, label,
+                elapsed / (double) iterations, allocatedBefore < 0 ? -1 : allocated / iterations));
+    }
+
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * The diff as TagRequestMaker worked it out before, through to the entries of the requests.
+     */
+    private static final class Previous {
+        private final Set<TagListEntry> tagsToAdd;
+        private final Set<String> keysToRemove;
+
+        Previous(final Map<String, String> previous, final Map<String, String> desired) {
+            keysToRemove = Sets.difference(previous.keySet(), desired.keySet()).immutableCopy();
+
+            final MapDifference<String, String> mapDifference = Maps.difference(desired, previous);
+            final Set<Tag> tags = mapDifference.entriesDiffering().entrySet().stream().map(entry -> {
+                return Tag.builder().key(entry.getKey()).value(entry.getValue().leftValue()).build();
+            }).collect(Collectors.toSet());
+            tags.addAll(TagTranslator.translateMapToTags(mapDifference.entriesOnlyOnLeft()));
+            for (Tag tag : tags) {
+                if (tag.getKey().trim().toLowerCase().startsWith("aws:")) {
+                    throw new CfnInvalidRequestException(tag.getKey() + " is an invalid key.");
+                }
+            }
+            tagsToAdd = TagTranslator.translateTags(tags);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package software.amazon.datasync.task;
+
+import software.amazon.awssdk.services.datasync.model.TagListEntry;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TagDiffTest {
+
+    private static Map<String, String> tags(final String... keysAndValues) {
+        final Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            tags.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return tags;
+    }
+
+    private static TagListEntry entry(final String key, final String value) {
+        return TagListEntry.builder().key(key).value(value).build();
+    }
+
+    @Test
+    public void of_AddsNewAndChangedTags_RemovesMissingKeys() {
+        final TagDiff tagDiff = TagDiff.of(
+                tags("kept", "1", "changed", "2", "removed", "3"),
+                tags("kept", "1", "changed", "20", "added", "4"),
+                null);
+
+        assertThat(tagDiff.getTagsToAdd()).containsExactlyInAnyOrder(entry("changed", "20"), entry("added", "4"));
+        assertThat(tagDiff.getKeysToRemove()).containsExactly("removed");
+    }
+
+    @Test
+    public void of_NoTags_IsEmpty() {
+        final TagDiff tagDiff = TagDiff.of(null, null, null);
+
+        assertThat(tagDiff.getTagsToAdd()).isEmpty();
+        assertThat(tagDiff.getKeysToRemove()).isEmpty();
+    }
+
+    @Test
+    public void of_SystemTagsNotAppliedBefore_AreAdded() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceTags(tags("key", "value"))
+                .desiredResourceTags(tags("key", "value"))
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .build();
+
+        assertThat(TagDiff.of(request).getTagsToAdd())
+                .containsExactly(entry("aws:cloudformation:stack-name", "stack"));
+    }
+
+    @Test
+    public void of_SystemTagsAppliedBefore_AreLeftAlone() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousSystemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .systemTags(Collections.singletonMap("aws:cloudformation:stack-name", "stack"))
+                .build();
+
+        assertThat(TagDiff.of(request).getTagsToAdd()).isEmpty();
+    }
+
+    @Test
+    public void of_AwsPrefixedTagRequested_Throws() {
+        assertThatThrownBy(() -> TagDiff.of(null, tags(" AWS:reserved", "value"), null))
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .hasMessageContaining("AWS:reserved");
+    }
+
+    @Test
+    public void of_AwsPrefixedTagUnchanged_IsAllowed() {
+        final TagDiff tagDiff = TagDiff.of(tags("aws:reserved", "value"), tags("aws:reserved", "value"), null);
+
+        assertThat(tagDiff.getTagsToAdd()).isEmpty();
+    }
+
+    @Test
+    public void of_MoreTagsThanAResourceCanHave_Throws() {
+        final Map<String, String> desired = new HashMap<>();
+        for (int i = 0; i <= TagDiff.MAX_TAGS; i++) {
+            desired.put("key-" + i, "value");
+        }
+
+        assertThatThrownBy(() -> TagDiff.of(null, desired, null))
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .hasMessageContaining("at most 50");
+    }
+
+    @Test
+    public void reconcile_AsManyTagsAsAResourceCanHave_AwsKeysNotCounted() {
+        final Map<String, String> desired = new HashMap<>();
+        for (int i = 0; i < TagDiff.MAX_TAGS; i++) {
+            desired.put("key-" + i, "value");
+        }
+        desired.put("aws:reserved", "value");
+
+        final TagDiff tagDiff = TagDiff.reconcile(tags("aws:reserved", "value"), desired, null);
+
+        assertThat(tagDiff.getTagsToAdd()).hasSize(TagDiff.MAX_TAGS);
+    }
+
+    @Test
+    public void reconcile_LiveTagsAsDesired_IsEmpty() {
+        final Map<String, String> live = tags("key", "value", "aws:cloudformation:stack-name", "stack");
+
+        final TagDiff tagDiff = TagDiff.reconcile(live, tags("key", "value"),
+                Collections.singletonMap("aws:cloudformation:stack-name", "stack"));
+
+        assertThat(tagDiff.getTagsToAdd()).isEmpty();
+        assertThat(tagDiff.getKeysToRemove()).isEmpty();
+    }
+
+    @Test
+    public void reconcile_LiveTagsChanged_RevertsThemAndKeepsAwsKeys() {
+        final Map<String, String> live = tags("kept", "1", "changed", "other", "extra", "3", "aws:reserved", "4");
+
+        final TagDiff tagDiff = TagDiff.reconcile(live, tags("kept", "1", "changed", "2", "missing", "5"),
+                Collections.singletonMap("aws:cloudformation:stack-name", "stack"));
+
+        assertThat(tagDiff.getTagsToAdd()).containsExactlyInAnyOrder(entry("changed", "2"), entry("missing", "5"),
+                entry("aws:cloudformation:stack-name", "stack"));
+        assertThat(tagDiff.getKeysToRemove()).containsExactly("extra");
+    }
+
+    @Test
+    public void hasAwsPrefix_IgnoresCaseAndLeadingWhitespace() {
+        assertThat(TagDiff.hasAwsPrefix("aws:key")).isTrue();
+        assertThat(TagDiff.hasAwsPrefix("AwS:key")).isTrue();
+        assertThat(TagDiff.hasAwsPrefix(" \taws:key")).isTrue();
+        assertThat(TagDiff.hasAwsPrefix("aws")).isFalse();
+        assertThat(TagDiff.hasAwsPrefix("my-aws:key")).isFalse();
+        assertThat(TagDiff.hasAwsPrefix("")).isFalse();
+    }
+}
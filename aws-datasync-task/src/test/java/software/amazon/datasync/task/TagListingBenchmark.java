@@ -0,0 +1,144 @@
+package software.amazon.datasync.task;
+
+import software.amazon.awssdk.services.datasync.DataSyncClient;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.datasync.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.datasync.model.TagListEntry;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures listing the user tags of a heavily tagged resource, page by page as
+ * {@link TagRequestMaker#listUserTagsForResource} does, against collecting every page and filtering the full
+ * set afterwards. For each tag count it reports the median latency and the bytes allocated per listing by
+ * the listing thread; the pages are built up front, so only the handler's own work is counted. Not part of
+ * the default test run; run it with {@code mvn test -Dtest=TagListingBenchmark}, optionally with
+ * {@code -Dbenchmark.tagCounts}, {@code -Dbenchmark.pageLatencyMillis}, {@code -Dbenchmark.iterations} and
+ * {@code -Ddatasync.listTagsMaxResults}.
+ *
+ * <p>One in ten tags carries the {@code aws:cloudformation:} prefix and is filtered out.
+ */
+public class TagListingBenchmark {
+    private static final String TAG_COUNTS = System.getProperty("benchmark.tagCounts", "50,1000,10000");
+    private static final long PAGE_LATENCY_MILLIS = Long.getLong("benchmark.pageLatencyMillis", 0);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 50);
+    private static final String TASK_ARN = "arn:aws:datasync:us-east-1:123456789012:task/task-01234567890123456";
+
+    private final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+
+    @AfterEach
+    public void tearDown() {
+        ClientBuilder.closeClient();
+    }
+
+    @Test
+    public void compareTagListing() throws Exception {
+        final DataSyncClient client = ClientBuilder.getClient("us-east-1");
+        System.out.println(String.format("page latency %d ms, %d iterations", PAGE_LATENCY_MILLIS, ITERATIONS));
+        System.out.println(String.format("%8s %-20s %8s %10s %16s", "tags", "listing", "pages", "p50 (ms)", "bytes/listing"));
+
+        for (String tagCount : TAG_COUNTS.split(",")) {
+            final List<TagListEntry> tags = buildTags(Integer.parseInt(tagCount.trim()));
+            final List<ListTagsForResourceResponse> pages = new ArrayList<>();
+            serve(tags, pages);
+
+            final Supplier<Set<Tag>> streamed = () -> TagRequestMaker.listUserTagsForResource(
+                    proxy, client, TASK_ARN, new InvocationDeadline(TimeUnit.MINUTES.toMillis(5), 0, 60_000));
+            final Supplier<Set<Tag>> collected = () -> collectThenFilter(client);
+
+            assertThat(streamed.get()).isEqualTo(collected.get()).hasSize(tags.size() - tags.size() / 10);
+            report(tags.size(), "streamed pages", pages.size(), streamed);
+            report(tags.size(), "collect then filter", pages.size(), collected);
+        }
+    }
+
+    private static List<TagListEntry> buildTags(final int count) {
+        final List<TagListEntry> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String key = i % 10 == 0 ? "aws:cloudformation:key-" + i : "key-" + i;
+            tags.add(TagListEntry.builder().key(key).value("value-" + i).build());
+        }
+        return tags;
+    }
+
+    /**
+     * Answer each listing with pages of the requested size, built once, where a page's token is the index
+     * of its first tag.
+     */
+    private void serve(final List<TagListEntry> tags, final List<ListTagsForResourceResponse> pages) {
+        final int pageSize = TagTranslator.translateToListTagsRequest(TASK_ARN).maxResults();
+        for (int start = 0; start < tags.size(); start += pageSize) {
+            final int end = Math.min(tags.size(), start + pageSize);
+            pages.add(ListTagsForResourceResponse.builder()
+                    .tags(tags.subList(start, end))
+                    .nextToken(end < tags.size() ? Integer.toString(end) : null)
+                    .build());
+        }
+        doAnswer(invocation -> {
+            if (PAGE_LATENCY_MILLIS > 0) {
+                Thread.sleep(PAGE_LATENCY_MILLIS);
+            }
+            final ListTagsForResourceRequest request = invocation.getArgument(0);
+            return request.nextToken() == null ? pages.get(0) : pages.get(Integer.parseInt(request.nextToken()) / pageSize);
+        }).when(proxy).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+
+    // The single-pass listing this replaces, extended to every page: the full set is built before filtering.
+    private Set<Tag> collectThenFilter(final DataSyncClient client) {
+        final List<TagListEntry> entries = new ArrayList<>();
+        String nextToken = null;
+        do {
+            final ListTagsForResourceResponse page = proxy.injectCredentialsAndInvokeV2(
+                    TagTranslator.translateToListTagsRequest(TASK_ARN, nextToken), client::listTagsForResource);
+            entries.addAll(page.tags());
+            nextToken = page.nextToken();
+        } while (nextToken != null);
+        return TagTranslator.translateTagListEntries(entries).stream()
+                .filter(tag -> !tag.getKey().startsWith(TagTranslator.AWS_CFN_TAG_PREFIX))
+                .collect(Collectors.toSet());
+    }
+
+    private static void report(final int tags, final String listing, final int pages, final Supplier<Set<Tag>> list) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            list.get();
+        }
+        final long[] latencies = new long[ITERATIONS];
+        final long allocatedBefore = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.nanoTime();
+            list.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        final long allocated = allocatedBytes() - allocatedBefore;
+        Arrays.sort(latencies);
+
+        System.out.println(String.format("%8d %-20s %8d %10.2f %16s", tags, listing, pages,
+                latencies[ITERATIONS / 2] / 1_000_000.0,
+                allocated < 0 ? "n/a" : Long.toString(allocated / ITERATIONS)));
+    }
+
+    // Bytes allocated so far by this thread, or -1 where the runtime does not report them.
+    private static long allocatedBytes() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
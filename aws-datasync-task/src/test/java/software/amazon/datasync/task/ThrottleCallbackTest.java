@@ -0,0 +1,94 @@
+package software.amazon.datasync.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.datasync.model.DataSyncException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class ThrottleCallbackTest {
+    private static final DataSyncException THROTTLED = (DataSyncException) DataSyncException.builder()
+            .statusCode(429)
+            .message("Rate exceeded")
+            .build();
+
+    private final Logger logger = mock(Logger.class);
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty("datasync.throttleCallbackBudget");
+    }
+
+    @Test
+    public void delaySeconds_DoublesPerAttemptWithJitterUpToMaximum() {
+        final Random random = new Random(42);
+        for (int attempt = 0; attempt < 10; attempt++) {
+            final int ceiling = Math.min(60, 2 << attempt);
+            for (int i = 0; i < 100; i++) {
+                assertThat(ThrottleCallback.delaySeconds(attempt, random)).isBetween(ceiling - ceiling / 2, ceiling);
+            }
+        }
+        assertThat(ThrottleCallback.delaySeconds(Integer.MAX_VALUE, random)).isBetween(30, 60);
+    }
+
+    @Test
+    public void isThrottling_TranslatedOrNot() {
+        assertThat(ThrottleCallback.isThrottling(THROTTLED)).isTrue();
+        assertThat(ThrottleCallback.isThrottling(new CfnThrottlingException(THROTTLED))).isTrue();
+        assertThat(ThrottleCallback.isThrottling(new CompletionException(THROTTLED))).isTrue();
+        assertThat(ThrottleCallback.isThrottling(new CfnGeneralServiceException("failed"))).isFalse();
+        assertThat(ThrottleCallback.isThrottling(DataSyncException.builder().statusCode(400).build())).isFalse();
+    }
+
+    @Test
+    public void inProgress_CountsAttemptInContext() {
+        final ResourceModel model = ResourceModel.builder().build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+                ThrottleCallback.inProgress(model, null, new CfnThrottlingException(THROTTLED), logger);
+        final ProgressEvent<ResourceModel, CallbackContext> second = ThrottleCallback.inProgress(
+                model, first.getCallbackContext(), new CfnThrottlingException(THROTTLED), logger);
+
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(first.getResourceModel()).isSameAs(model);
+        assertThat(first.getCallbackDelaySeconds()).isBetween(1, 2);
+        assertThat(second.getCallbackDelaySeconds()).isBetween(2, 4);
+        assertThat(second.getCallbackContext().getThrottledAttempts()).isEqualTo(2);
+        assertThat(second.getCallbackContext().getThrottledDelaySeconds())
+                .isEqualTo(first.getCallbackDelaySeconds() + second.getCallbackDelaySeconds());
+    }
+
+    @Test
+    public void inProgress_BudgetSpent_ThrowsThrottling() {
+        System.setProperty("datasync.throttleCallbackBudget", "0");
+        final CfnThrottlingException throttled = new CfnThrottlingException(THROTTLED);
+
+        final CfnThrottlingException thrown = assertThrows(CfnThrottlingException.class, () ->
+                ThrottleCallback.inProgress(ResourceModel.builder().build(), new CallbackContext(), throttled, logger));
+
+        assertSame(throttled, thrown);
+    }
+
+    @Test
+    public void inProgress_BudgetSpent_ThrowsUnwrappedThrottling() {
+        System.setProperty("datasync.throttleCallbackBudget", "0");
+        final CfnThrottlingException throttled = new CfnThrottlingException(THROTTLED);
+
+        final CfnThrottlingException thrown = assertThrows(CfnThrottlingException.class, () ->
+                ThrottleCallback.inProgress(ResourceModel.builder().build(), new CallbackContext(),
+                        new CompletionException(throttled), logger));
+
+        assertSame(throttled, thrown);
+    }
+}
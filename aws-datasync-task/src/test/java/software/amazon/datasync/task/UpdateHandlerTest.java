@@ -20,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -212,6 +213,27 @@ public class UpdateHandlerTest {
         });
     }
 
+    @Test
+    public void handleRequest_UpdateRejected_LeavesTagsAlone() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        doThrow(InvalidRequestException.class)
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(UpdateTaskRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(buildDefaultModel())
+                .previousResourceTags(TagTranslator.translateTagsToMap(TagTestResources.defaultTags))
+                .desiredResourceState(buildUpdatedModel())
+                .desiredResourceTags(TagTranslator.translateTagsToMap(TagTestResources.updatedTags))
+                .build();
+
+        assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, null, logger));
+
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+    }
+
     @Test
     public void handleRequest_FailureInternalException() {
         final UpdateHandler handler = new UpdateHandler();
@@ -251,6 +273,48 @@ public class UpdateHandlerTest {
         });
     }
 
+    @Test
+    public void handleRequest_TagsThrottled_CallsBackWithoutUpdatingAgain() {
+        final UpdateHandler handler = new UpdateHandler();
+        final AtomicInteger updateCalls = new AtomicInteger();
+        final AtomicInteger tagCalls = new AtomicInteger();
+
+        when(proxy.injectCredentialsAndInvokeV2(any(), any())).thenAnswer(invocation -> {
+            final Object request = invocation.getArgument(0);
+            if (request instanceof ListTagsForResourceRequest) {
+                return TagTestResources.buildUpdatedTagsResponse();
+            } else if (request instanceof UpdateTaskRequest) {
+                updateCalls.incrementAndGet();
+            } else if (request instanceof TagResourceRequest && tagCalls.incrementAndGet() == 1) {
+                throw DataSyncException.builder().statusCode(429).message("Rate exceeded").build();
+            }
+            return buildDefaultResponse();
+        });
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(buildDefaultModel())
+                .previousResourceTags(TagTranslator.translateTagsToMap(TagTestResources.defaultTags))
+                .desiredResourceState(buildUpdatedModel())
+                .desiredResourceTags(TagTranslator.translateTagsToMap(TagTestResources.updatedTags))
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> throttled =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(throttled.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(throttled.getCallbackDelaySeconds()).isPositive();
+        assertThat(throttled.getCallbackContext().getThrottledAttempts()).isEqualTo(1);
+        assertThat(throttled.getCallbackContext().isResourceUpdated()).isTrue();
+        assertThat(throttled.getCallbackContext().isTagsUpdated()).isFalse();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, throttled.getCallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(updateCalls.get()).isEqualTo(1);
+        assertThat(tagCalls.get()).isEqualTo(2);
+    }
+
     private static DescribeTaskResponse buildDefaultResponse() {
         final String taskArn = "arn:aws:datasync:us-east-2:123456789012:task/task-01234567890123456";
         final String destinationLocationArn =